@@ -0,0 +1,231 @@
+package com.stoneage.light.bench;
+
+import android.app.Activity;
+import android.content.SharedPreferences;
+import android.content.pm.ApplicationInfo;
+import android.content.pm.PackageInfo;
+import android.content.pm.PackageManager;
+import android.content.res.AssetFileDescriptor;
+import android.content.res.AssetManager;
+import android.os.ParcelFileDescriptor;
+import com.stoneage.light.AssetsReleaser;
+import com.stoneage.light.ConfigStore;
+import com.stoneage.light.StorageProbe;
+import com.stoneage.light.StoneageApplication;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Wires the extraction code to a plain directory tree: {@code assets/} stands in for the APK assets,
+ * {@code storage/} for the app's files directory (including the {@link ConfigStore} file).
+ */
+public final class BenchEnvironment {
+    private final File assets;
+    private final File cache;
+    private final File root;
+    private final File storage;
+
+    private BenchEnvironment(File file) {
+        this.root = file;
+        this.assets = new File(file, "assets");
+        this.storage = new File(file, "storage");
+        this.cache = new File(file, "cache");
+    }
+
+    public static BenchEnvironment create(String str) throws IOException {
+        File file = new File(System.getProperty("bench.dir", System.getProperty("java.io.tmpdir")), "stoneage-bench-" + str);
+        BenchEnvironment benchEnvironment = new BenchEnvironment(file);
+        BenchFixtures.generate(benchEnvironment.assets, str);
+        ConfigStore.reset();
+        delete(benchEnvironment.storage);
+        delete(benchEnvironment.cache);
+        if (!benchEnvironment.storage.mkdirs() || !benchEnvironment.cache.mkdirs()) {
+            throw new IOException("cannot create " + file);
+        }
+        new StoneageApplication().SetActivity(new BenchActivity(benchEnvironment));
+        AssetsReleaser.SetConfig("STONEAGE_BASE_PATH", benchEnvironment.storage.getPath());
+        if (!AssetsReleaser.ReleasePathFile("font")) {
+            throw new IOException("storage setup failed");
+        }
+        return benchEnvironment;
+    }
+
+    public File getAssets() {
+        return this.assets;
+    }
+
+    public File getAsset(String str) {
+        return new File(this.assets, str);
+    }
+
+    public File getStorage() {
+        return this.storage;
+    }
+
+    public void setChunkSize(int i) {
+        AssetsReleaser.SetConfig("STONEAGE_STORAGE_PROBE", this.storage.getPath() + "|" + i + "|0");
+        StorageProbe.calibrate(this.storage.getPath());
+    }
+
+    public void close() {
+        ConfigStore.reset();
+        delete(this.storage);
+        delete(this.cache);
+    }
+
+    public static void delete(File file) {
+        File[] listFiles = file.listFiles();
+        if (listFiles != null) {
+            for (File file2 : listFiles) {
+                delete(file2);
+            }
+        }
+        file.delete();
+    }
+
+    static class BenchActivity extends Activity {
+        private final BenchEnvironment environment;
+        private final MapPreferences preferences = new MapPreferences();
+        private final DirectoryAssetManager assetManager;
+
+        BenchActivity(BenchEnvironment benchEnvironment) {
+            this.environment = benchEnvironment;
+            this.assetManager = new DirectoryAssetManager(benchEnvironment.assets);
+        }
+
+        @Override
+        public AssetManager getAssets() {
+            return this.assetManager;
+        }
+
+        @Override
+        public File getFilesDir() {
+            return this.environment.storage;
+        }
+
+        @Override
+        public File getCacheDir() {
+            return this.environment.cache;
+        }
+
+        @Override
+        public SharedPreferences getSharedPreferences(String str, int i) {
+            return this.preferences;
+        }
+
+        @Override
+        public ApplicationInfo getApplicationInfo() {
+            ApplicationInfo applicationInfo = new ApplicationInfo();
+            applicationInfo.sourceDir = this.environment.assets.getPath();
+            return applicationInfo;
+        }
+
+        @Override
+        public PackageManager getPackageManager() {
+            return new PackageManager() {
+                @Override
+                public PackageInfo getPackageInfo(String str, int i) {
+                    PackageInfo packageInfo = new PackageInfo();
+                    packageInfo.versionName = "bench";
+                    return packageInfo;
+                }
+            };
+        }
+
+        @Override
+        public String getPackageName() {
+            return "com.stoneage.light";
+        }
+    }
+
+    static class DirectoryAssetManager extends AssetManager {
+        private final File root;
+
+        DirectoryAssetManager(File file) {
+            this.root = file;
+        }
+
+        @Override
+        public InputStream open(String str) throws IOException {
+            return new FileInputStream(new File(this.root, str));
+        }
+
+        @Override
+        public AssetFileDescriptor openFd(String str) throws IOException {
+            File file = new File(this.root, str);
+            if (!file.isFile()) {
+                throw new FileNotFoundException(str);
+            }
+            return new AssetFileDescriptor(ParcelFileDescriptor.open(file, ParcelFileDescriptor.MODE_READ_ONLY), 0L, file.length());
+        }
+
+        @Override
+        public String[] list(String str) {
+            String[] list = new File(this.root, str).list();
+            if (list == null) {
+                return new String[0];
+            }
+            Arrays.sort(list);
+            return list;
+        }
+    }
+
+    static class MapPreferences implements SharedPreferences {
+        private final ConcurrentHashMap<String, String> values = new ConcurrentHashMap<>();
+
+        @Override
+        public Map<String, ?> getAll() {
+            return new HashMap<>(this.values);
+        }
+
+        @Override
+        public String getString(String str, String str2) {
+            String str3 = this.values.get(str);
+            return str3 != null ? str3 : str2;
+        }
+
+        @Override
+        public SharedPreferences.Editor edit() {
+            return new SharedPreferences.Editor() {
+                private final HashMap<String, String> pending = new HashMap<>();
+
+                @Override
+                public SharedPreferences.Editor putString(String str, String str2) {
+                    this.pending.put(str, str2);
+                    return this;
+                }
+
+                @Override
+                public SharedPreferences.Editor remove(String str) {
+                    this.pending.put(str, null);
+                    return this;
+                }
+
+                @Override
+                public boolean commit() {
+                    for (Map.Entry<String, String> entry : this.pending.entrySet()) {
+                        if (entry.getValue() == null) {
+                            MapPreferences.this.values.remove(entry.getKey());
+                        } else {
+                            MapPreferences.this.values.put(entry.getKey(), entry.getValue());
+                        }
+                    }
+                    this.pending.clear();
+                    return true;
+                }
+
+                @Override
+                public void apply() {
+                    commit();
+                }
+            };
+        }
+    }
+}
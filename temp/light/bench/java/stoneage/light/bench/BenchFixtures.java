@@ -0,0 +1,143 @@
+package com.stoneage.light.bench;
+
+import com.stoneage.light.PatchConsolidator;
+import com.stoneage.light.ZipArchive;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Deterministic synthetic patch chain shaped like the shipped assets: several hundred small
+ * palette sprites per patch (later patches overwrite part of the previous set), a couple of large
+ * tile maps with one stored and one deflated, and an incompressible stored audio track. Every byte
+ * comes from a fixed seed, so two runs on the same JDK produce identical archives.
+ */
+public final class BenchFixtures {
+    public static final int PATCHES = 3;
+    public static final long SEED = 20250101L;
+    private static final int MAPS = 2;
+    private static final int SPRITES = 600;
+    private static final int SPRITE_OVERLAP = 200;
+
+    private BenchFixtures() {
+    }
+
+    public static void generate(File file, String str) throws IOException {
+        File file2 = new File(file, "patch_" + (PATCHES - 1) + ".zip");
+        File file3 = new File(file, ".fixtures-" + SEED);
+        if (file2.isFile() && file3.isFile()) {
+            return;
+        }
+        BenchEnvironment.delete(file);
+        File file4 = new File(file, "data/font");
+        if (!file4.mkdirs()) {
+            throw new IOException("cannot create " + file4);
+        }
+        for (int i = 0; i < PATCHES; i++) {
+            File file5 = new File(file, "patch_" + i + ".zip");
+            writePatch(file5, new Random(SEED + i), i);
+            if ("lz4".equals(str)) {
+                recompress(file5);
+            } else if (!"deflate".equals(str)) {
+                throw new IllegalArgumentException("unknown codec " + str);
+            }
+        }
+        Random random = new Random(SEED - 1);
+        for (int i2 = 0; i2 < 4; i2++) {
+            FileOutputStream fileOutputStream = new FileOutputStream(new File(file4, "font" + i2 + ".ttf"));
+            try {
+                fileOutputStream.write(sprite(random, 262144 << (i2 % 3)));
+            } finally {
+                fileOutputStream.close();
+            }
+        }
+        if (!file3.createNewFile()) {
+            throw new IOException("cannot create " + file3);
+        }
+    }
+
+    private static void writePatch(File file, Random random, int i) throws IOException {
+        ZipOutputStream zipOutputStream = new ZipOutputStream(new FileOutputStream(file));
+        try {
+            zipOutputStream.setLevel(6);
+            int i2 = i * (SPRITES - SPRITE_OVERLAP);
+            for (int i3 = 0; i3 < SPRITES; i3++) {
+                put(zipOutputStream, String.format("sprite/%05d.spr", Integer.valueOf(i2 + i3)), sprite(random, random.nextInt(8192) + 256), false);
+            }
+            for (int i4 = 0; i4 < MAPS; i4++) {
+                put(zipOutputStream, "map/" + i + "_" + i4 + ".dat", map(random, (random.nextInt(4) + 2) << 20), i4 == 0);
+            }
+            byte[] bArr = new byte[786432];
+            random.nextBytes(bArr);
+            put(zipOutputStream, "sound/bgm" + i + ".ogg", bArr, true);
+        } finally {
+            zipOutputStream.close();
+        }
+    }
+
+    private static void put(ZipOutputStream zipOutputStream, String str, byte[] bArr, boolean z) throws IOException {
+        ZipEntry zipEntry = new ZipEntry(str);
+        zipEntry.setTime(315532800000L);
+        if (z) {
+            CRC32 crc32 = new CRC32();
+            crc32.update(bArr);
+            zipEntry.setMethod(ZipEntry.STORED);
+            zipEntry.setSize(bArr.length);
+            zipEntry.setCompressedSize(bArr.length);
+            zipEntry.setCrc(crc32.getValue());
+        }
+        zipOutputStream.putNextEntry(zipEntry);
+        zipOutputStream.write(bArr);
+        zipOutputStream.closeEntry();
+    }
+
+    private static byte[] sprite(Random random, int i) {
+        byte[] bArr = new byte[i];
+        byte[] bArr2 = new byte[16];
+        random.nextBytes(bArr2);
+        int i2 = 0;
+        while (i2 < i) {
+            byte b = bArr2[random.nextInt(16)];
+            int iMin = Math.min(i - i2, random.nextInt(24) + 1);
+            for (int i3 = 0; i3 < iMin; i3++) {
+                bArr[i2 + i3] = b;
+            }
+            i2 += iMin;
+        }
+        return bArr;
+    }
+
+    private static byte[] map(Random random, int i) {
+        byte[] bArr = new byte[i];
+        int[] iArr = new int[64];
+        for (int i2 = 0; i2 < iArr.length; i2++) {
+            iArr[i2] = random.nextInt(4096);
+        }
+        int i3 = 0;
+        while (i3 + 1 < i) {
+            int i4 = random.nextInt(8) == 0 ? random.nextInt(65536) : iArr[random.nextInt(iArr.length)];
+            bArr[i3] = (byte) i4;
+            bArr[i3 + 1] = (byte) (i4 >>> 8);
+            i3 += 2;
+        }
+        return bArr;
+    }
+
+    private static void recompress(File file) throws IOException {
+        File file2 = new File(file.getPath() + ".deflate");
+        if (!file.renameTo(file2)) {
+            throw new IOException("rename failed: " + file);
+        }
+        ZipArchive zipArchiveOpen = ZipArchive.open(file2);
+        try {
+            PatchConsolidator.consolidate(new ZipArchive[]{zipArchiveOpen}, file, "", ZipArchive.METHOD_LZ4);
+        } finally {
+            zipArchiveOpen.close();
+            file2.delete();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.stoneage.light.bench;
+
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares two JMH CSV result files ({@code -rf csv}) and exits with status 1 when any benchmark
+ * present in both got slower than the baseline by more than the threshold and by more than the
+ * combined 99.9% error of the two runs.
+ *
+ * <pre>java com.stoneage.light.bench.BenchGate baseline.csv current.csv [threshold, default 0.10]</pre>
+ */
+public final class BenchGate {
+
+    static final class Result {
+        final double error;
+        final boolean higherIsBetter;
+        final double score;
+        final String unit;
+
+        Result(double d, double d2, String str, boolean z) {
+            this.score = d;
+            this.error = d2;
+            this.unit = str;
+            this.higherIsBetter = z;
+        }
+    }
+
+    private BenchGate() {
+    }
+
+    public static void main(String[] strArr) throws IOException {
+        if (strArr.length < 2) {
+            System.err.println("usage: BenchGate <baseline.csv> <current.csv> [threshold]");
+            System.exit(2);
+            return;
+        }
+        double d = strArr.length > 2 ? Double.parseDouble(strArr[2]) : 0.1d;
+        Map<String, Result> load = load(strArr[0]);
+        Map<String, Result> load2 = load(strArr[1]);
+        int i = 0;
+        int i2 = 0;
+        for (Map.Entry<String, Result> entry : load2.entrySet()) {
+            Result result = load.get(entry.getKey());
+            if (result != null) {
+                Result value = entry.getValue();
+                i2++;
+                double d2 = value.higherIsBetter ? result.score - value.score : value.score - result.score;
+                boolean z = d2 > result.score * d && d2 > result.error + value.error;
+                if (z) {
+                    i++;
+                }
+                System.out.println(String.format("%-10s %+7.1f%%  %s  (%.3f -> %.3f %s)", z ? "REGRESSED" : "ok", Double.valueOf((d2 * 100.0d) / result.score), entry.getKey(), Double.valueOf(result.score), Double.valueOf(value.score), value.unit));
+            }
+        }
+        System.out.println(i2 + " benchmarks compared, " + i + " regressed beyond " + Math.round(100.0d * d) + "%");
+        System.exit(i > 0 ? 1 : 0);
+    }
+
+    static Map<String, Result> load(String str) throws IOException {
+        LinkedHashMap<String, Result> linkedHashMap = new LinkedHashMap<>();
+        BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(new FileInputStream(str), "UTF-8"));
+        try {
+            String line = bufferedReader.readLine();
+            if (line == null) {
+                throw new IOException("empty result file: " + str);
+            }
+            List<String> split = split(line);
+            int iIndexOf = split.indexOf("Benchmark");
+            int iIndexOf2 = split.indexOf("Mode");
+            int iIndexOf3 = split.indexOf("Score");
+            int iIndexOf4 = split.indexOf("Score Error (99.9%)");
+            int iIndexOf5 = split.indexOf("Unit");
+            if (iIndexOf < 0 || iIndexOf2 < 0 || iIndexOf3 < 0 || iIndexOf4 < 0 || iIndexOf5 < 0) {
+                throw new IOException("not a JMH csv file: " + str);
+            }
+            while (true) {
+                String line2 = bufferedReader.readLine();
+                if (line2 == null) {
+                    return linkedHashMap;
+                }
+                List<String> split2 = split(line2);
+                if (split2.size() == split.size()) {
+                    StringBuilder sb = new StringBuilder(split2.get(iIndexOf));
+                    for (int i = 0; i < split.size(); i++) {
+                        if (split.get(i).startsWith("Param: ") && split2.get(i).length() > 0) {
+                            sb.append(' ').append(split.get(i).substring(7)).append('=').append(split2.get(i));
+                        }
+                    }
+                    String str2 = split2.get(iIndexOf2);
+                    linkedHashMap.put(sb.toString(), new Result(number(split2.get(iIndexOf3)), number(split2.get(iIndexOf4)), split2.get(iIndexOf5), "thrpt".equals(str2)));
+                }
+            }
+        } finally {
+            bufferedReader.close();
+        }
+    }
+
+    private static double number(String str) {
+        if (str.length() == 0 || "NaN".equals(str)) {
+            return 0.0d;
+        }
+        return Double.parseDouble(str.indexOf(46) < 0 ? str.replace(',', '.') : str);
+    }
+
+    static List<String> split(String str) {
+        ArrayList<String> arrayList = new ArrayList<>();
+        StringBuilder sb = new StringBuilder();
+        boolean z = false;
+        int i = 0;
+        while (i < str.length()) {
+            char charAt = str.charAt(i);
+            if (z) {
+                if (charAt != '\"') {
+                    sb.append(charAt);
+                } else if (i + 1 >= str.length() || str.charAt(i + 1) != '\"') {
+                    z = false;
+                } else {
+                    sb.append('\"');
+                    i++;
+                }
+            } else if (charAt == '\"') {
+                z = true;
+            } else if (charAt == ',') {
+                arrayList.add(sb.toString());
+                sb.setLength(0);
+            } else {
+                sb.append(charAt);
+            }
+            i++;
+        }
+        arrayList.add(sb.toString());
+        return arrayList;
+    }
+}
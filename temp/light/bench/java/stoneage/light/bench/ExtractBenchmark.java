@@ -0,0 +1,123 @@
+package com.stoneage.light.bench;
+
+import com.stoneage.light.Decompress;
+import com.stoneage.light.ParallelDecompress;
+import com.stoneage.light.ZipArchive;
+import com.stoneage.light.ZipProgress;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Installs the full synthetic patch chain into an empty directory per invocation. {@link #unzip} and
+ * {@link #unZipAssets} go through the public {@link Decompress} entry points with the extraction
+ * mode taken from {@link Strategy}; {@link #parallel} drives {@link ParallelDecompress} directly with
+ * an explicit worker count.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 2, jvmArgsAppend = {"-Xmx512m"})
+public class ExtractBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Fixture {
+        @Param({"65536", "262144", "1048576"})
+        public int chunk;
+        @Param({"deflate", "lz4"})
+        public String codec;
+        BenchEnvironment environment;
+        File output;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            this.environment = BenchEnvironment.create(this.codec);
+            this.environment.setChunkSize(this.chunk);
+            this.output = new File(this.environment.getStorage(), "out");
+        }
+
+        @Setup(Level.Invocation)
+        public void clean() {
+            BenchEnvironment.delete(this.output);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            this.environment.close();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Strategy {
+        @Param({"sequential", "pipelined", "parallel"})
+        public String mode;
+
+        @Setup(Level.Trial)
+        public void setUp(Fixture fixture) {
+            if ("parallel".equals(this.mode)) {
+                Decompress.setExtractMode(Decompress.EXTRACT_MODE_PARALLEL);
+            } else if ("pipelined".equals(this.mode)) {
+                Decompress.setExtractMode(Decompress.EXTRACT_MODE_PIPELINED);
+            } else {
+                Decompress.setExtractMode(Decompress.EXTRACT_MODE_SEQUENTIAL);
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Workers {
+        @Param({"1", "2", "4", "8"})
+        public int threads;
+    }
+
+    @Benchmark
+    public boolean unzip(Fixture fixture, Strategy strategy) throws IOException {
+        boolean z = true;
+        for (int i = 0; i < BenchFixtures.PATCHES; i++) {
+            z &= new Decompress(fixture.environment.getAsset("patch_" + i + ".zip").getPath(), fixture.output.getPath()).unzip();
+        }
+        return z;
+    }
+
+    @Benchmark
+    public boolean unZipAssets(Fixture fixture, Strategy strategy) throws IOException {
+        boolean z = true;
+        for (int i = 0; i < BenchFixtures.PATCHES; i++) {
+            z &= Decompress.UnZipAssets("patch_" + i + ".zip", fixture.output.getPath(), true);
+        }
+        return z;
+    }
+
+    @Benchmark
+    public boolean parallel(Fixture fixture, Workers workers) throws IOException {
+        boolean z = true;
+        ZipProgress zipProgressBegin = ZipProgress.begin(0L);
+        try {
+            for (int i = 0; i < BenchFixtures.PATCHES; i++) {
+                ZipArchive zipArchiveOpen = ZipArchive.open(fixture.environment.getAsset("patch_" + i + ".zip"));
+                try {
+                    z &= new ParallelDecompress(zipArchiveOpen, fixture.output.getPath(), workers.threads).extract(true);
+                } finally {
+                    zipArchiveOpen.close();
+                }
+            }
+            return z;
+        } finally {
+            zipProgressBegin.end();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.stoneage.light.bench;
+
+import com.stoneage.light.AssetsReleaser;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Font release: {@link #releasePathFile} runs {@link AssetsReleaser#ReleasePathFile} on a first launch,
+ * {@link #releasePathFileWarm} on a launch where the release stamp already matches, and {@link #copy}
+ * replays the per-file stream copy with the buffer size under test.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(2)
+public class ReleaseBenchmark {
+    private BenchEnvironment environment;
+    private File output;
+
+    @State(Scope.Benchmark)
+    public static class Buffer {
+        @Param({"1024", "65536", "1048576"})
+        public int size;
+    }
+
+    @State(Scope.Benchmark)
+    public static class Warm {
+        @Setup(Level.Invocation)
+        public void prime(ReleaseBenchmark releaseBenchmark) throws IOException {
+            if (!AssetsReleaser.ReleasePathFile("font")) {
+                throw new IOException("release failed");
+            }
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        this.environment = BenchEnvironment.create("deflate");
+        this.output = new File(this.environment.getStorage(), "data/font");
+    }
+
+    @Setup(Level.Invocation)
+    public void clean() {
+        BenchEnvironment.delete(this.output);
+        AssetsReleaser.SetConfig("STONEAGE_RELEASE_FONT", "");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.environment.close();
+    }
+
+    @Benchmark
+    public boolean releasePathFile() throws IOException {
+        return AssetsReleaser.ReleasePathFile("font");
+    }
+
+    @Benchmark
+    public boolean releasePathFileWarm(Warm warm) throws IOException {
+        return AssetsReleaser.ReleasePathFile("font");
+    }
+
+    @Benchmark
+    public long copy(Buffer buffer) throws IOException {
+        File file = new File(this.environment.getAssets(), "data/font");
+        if (!this.output.mkdirs()) {
+            throw new IOException("cannot create " + this.output);
+        }
+        byte[] bArr = new byte[buffer.size];
+        long j = 0;
+        String[] list = file.list();
+        for (String str : list) {
+            FileInputStream fileInputStream = new FileInputStream(new File(file, str));
+            try {
+                FileOutputStream fileOutputStream = new FileOutputStream(new File(this.output, str));
+                try {
+                    while (true) {
+                        int i = fileInputStream.read(bArr);
+                        if (i == -1) {
+                            break;
+                        }
+                        fileOutputStream.write(bArr, 0, i);
+                        j += i;
+                    }
+                } finally {
+                    fileOutputStream.close();
+                }
+            } finally {
+                fileInputStream.close();
+            }
+        }
+        return j;
+    }
+}
@@ -0,0 +1,48 @@
+package android.content;
+
+import android.content.pm.ApplicationInfo;
+import android.content.pm.PackageManager;
+import android.content.res.AssetManager;
+import java.io.File;
+
+public class Context {
+    public AssetManager getAssets() {
+        return null;
+    }
+
+    public File getFilesDir() {
+        return null;
+    }
+
+    public File getCacheDir() {
+        return null;
+    }
+
+    public File getExternalFilesDir(String str) {
+        return null;
+    }
+
+    public SharedPreferences getSharedPreferences(String str, int i) {
+        return null;
+    }
+
+    public ApplicationInfo getApplicationInfo() {
+        return null;
+    }
+
+    public PackageManager getPackageManager() {
+        return null;
+    }
+
+    public String getPackageName() {
+        return null;
+    }
+
+    public Object getSystemService(String str) {
+        return null;
+    }
+
+    public Context getApplicationContext() {
+        return this;
+    }
+}
@@ -0,0 +1,21 @@
+package android.content;
+
+import java.util.Map;
+
+public interface SharedPreferences {
+    interface Editor {
+        Editor putString(String str, String str2);
+
+        Editor remove(String str);
+
+        boolean commit();
+
+        void apply();
+    }
+
+    Editor edit();
+
+    Map<String, ?> getAll();
+
+    String getString(String str, String str2);
+}
@@ -0,0 +1,11 @@
+package android.content.pm;
+
+public abstract class PackageManager {
+    public static class NameNotFoundException extends Exception {
+        public NameNotFoundException(String str) {
+            super(str);
+        }
+    }
+
+    public abstract PackageInfo getPackageInfo(String str, int i) throws NameNotFoundException;
+}
@@ -0,0 +1,48 @@
+package android.content.res;
+
+import android.os.ParcelFileDescriptor;
+import java.io.Closeable;
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.IOException;
+
+public class AssetFileDescriptor implements Closeable {
+    private final ParcelFileDescriptor fd;
+    private final long length;
+    private final long startOffset;
+
+    public AssetFileDescriptor(ParcelFileDescriptor parcelFileDescriptor, long j, long j2) {
+        this.fd = parcelFileDescriptor;
+        this.startOffset = j;
+        this.length = j2;
+    }
+
+    public ParcelFileDescriptor getParcelFileDescriptor() {
+        return this.fd;
+    }
+
+    public FileDescriptor getFileDescriptor() {
+        return this.fd.getFileDescriptor();
+    }
+
+    public long getStartOffset() {
+        return this.startOffset;
+    }
+
+    public long getLength() {
+        return this.length;
+    }
+
+    public long getDeclaredLength() {
+        return this.length;
+    }
+
+    public FileInputStream createInputStream() throws IOException {
+        return new FileInputStream(this.fd.getFile());
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.fd.close();
+    }
+}
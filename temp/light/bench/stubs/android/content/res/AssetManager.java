@@ -0,0 +1,12 @@
+package android.content.res;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public abstract class AssetManager {
+    public abstract InputStream open(String str) throws IOException;
+
+    public abstract AssetFileDescriptor openFd(String str) throws IOException;
+
+    public abstract String[] list(String str) throws IOException;
+}
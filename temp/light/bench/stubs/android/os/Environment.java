@@ -0,0 +1,7 @@
+package android.os;
+
+public class Environment {
+    public static String getExternalStorageState() {
+        return "removed";
+    }
+}
@@ -0,0 +1,44 @@
+package android.os;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileDescriptor;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+public class ParcelFileDescriptor implements Closeable {
+    public static final int MODE_READ_ONLY = 268435456;
+    private final File file;
+    private final RandomAccessFile handle;
+
+    private ParcelFileDescriptor(File file) throws FileNotFoundException {
+        this.file = file;
+        this.handle = new RandomAccessFile(file, "r");
+    }
+
+    public static ParcelFileDescriptor open(File file, int i) throws FileNotFoundException {
+        return new ParcelFileDescriptor(file);
+    }
+
+    public File getFile() {
+        return this.file;
+    }
+
+    public FileDescriptor getFileDescriptor() {
+        try {
+            return this.handle.getFD();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public int detachFd() {
+        throw new UnsupportedOperationException("raw fds are not available on the JVM");
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.handle.close();
+    }
+}
@@ -0,0 +1,16 @@
+package android.os;
+
+public class PowerManager {
+    public static final int THERMAL_STATUS_NONE = 0;
+    public static final int THERMAL_STATUS_LIGHT = 1;
+    public static final int THERMAL_STATUS_MODERATE = 2;
+    public static final int THERMAL_STATUS_SEVERE = 3;
+
+    public int getCurrentThermalStatus() {
+        return THERMAL_STATUS_NONE;
+    }
+
+    public boolean isPowerSaveMode() {
+        return false;
+    }
+}
@@ -0,0 +1,27 @@
+package android.os;
+
+import java.io.File;
+
+public class StatFs {
+    private final File path;
+
+    public StatFs(String str) {
+        this.path = new File(str);
+    }
+
+    public long getBlockSizeLong() {
+        return 4096L;
+    }
+
+    public long getBlockCountLong() {
+        return this.path.getTotalSpace() / 4096;
+    }
+
+    public long getFreeBlocksLong() {
+        return this.path.getFreeSpace() / 4096;
+    }
+
+    public long getAvailableBytes() {
+        return this.path.getUsableSpace();
+    }
+}
@@ -0,0 +1,10 @@
+package android.system;
+
+public class ErrnoException extends Exception {
+    public final int errno;
+
+    public ErrnoException(String str, int i) {
+        super(str + " failed: errno " + i);
+        this.errno = i;
+    }
+}
@@ -0,0 +1,69 @@
+package android.system;
+
+import java.io.FileDescriptor;
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+public final class Os {
+    private Os() {
+    }
+
+    public static FileDescriptor open(String str, int i, int i2) throws ErrnoException {
+        return new FileDescriptor();
+    }
+
+    public static void fsync(FileDescriptor fileDescriptor) throws ErrnoException {
+    }
+
+    public static void close(FileDescriptor fileDescriptor) throws ErrnoException {
+    }
+
+    public static void link(String str, String str2) throws ErrnoException {
+        try {
+            Files.createLink(Paths.get(str2), Paths.get(str));
+        } catch (FileAlreadyExistsException e) {
+            throw new ErrnoException("link", OsConstants.EEXIST);
+        } catch (IOException | UnsupportedOperationException e2) {
+            throw new ErrnoException("link", OsConstants.EOPNOTSUPP);
+        }
+    }
+
+    public static void symlink(String str, String str2) throws ErrnoException {
+        try {
+            Files.createSymbolicLink(Paths.get(str2), Paths.get(str));
+        } catch (FileAlreadyExistsException e) {
+            throw new ErrnoException("symlink", OsConstants.EEXIST);
+        } catch (IOException | UnsupportedOperationException e2) {
+            throw new ErrnoException("symlink", OsConstants.EOPNOTSUPP);
+        }
+    }
+
+    public static String readlink(String str) throws ErrnoException {
+        Path path = Paths.get(str);
+        if (!Files.isSymbolicLink(path)) {
+            throw new ErrnoException("readlink", Files.exists(path, LinkOption.NOFOLLOW_LINKS) ? OsConstants.EINVAL : OsConstants.ENOENT);
+        }
+        try {
+            return Files.readSymbolicLink(path).toString();
+        } catch (IOException e) {
+            throw new ErrnoException("readlink", OsConstants.EINVAL);
+        }
+    }
+
+    public static void rename(String str, String str2) throws ErrnoException {
+        try {
+            Files.move(Paths.get(str), Paths.get(str2), StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new ErrnoException("rename", OsConstants.EINVAL);
+        }
+    }
+
+    public static void posix_fallocate(FileDescriptor fileDescriptor, long j, long j2) throws ErrnoException {
+        throw new ErrnoException("posix_fallocate", OsConstants.EOPNOTSUPP);
+    }
+}
@@ -0,0 +1,13 @@
+package android.system;
+
+public final class OsConstants {
+    public static final int EEXIST = 17;
+    public static final int EINVAL = 22;
+    public static final int ENOENT = 2;
+    public static final int ENOSPC = 28;
+    public static final int EOPNOTSUPP = 95;
+    public static final int O_RDONLY = 0;
+
+    private OsConstants() {
+    }
+}
@@ -0,0 +1,39 @@
+package android.util;
+
+public final class Log {
+    private Log() {
+    }
+
+    public static int v(String str, String str2) {
+        return 0;
+    }
+
+    public static int d(String str, String str2) {
+        return 0;
+    }
+
+    public static int i(String str, String str2) {
+        return 0;
+    }
+
+    public static int w(String str, String str2) {
+        return w(str, str2, null);
+    }
+
+    public static int w(String str, String str2, Throwable th) {
+        return print("W", str, str2, th);
+    }
+
+    public static int e(String str, String str2) {
+        return e(str, str2, null);
+    }
+
+    public static int e(String str, String str2, Throwable th) {
+        return print("E", str, str2, th);
+    }
+
+    private static int print(String str, String str2, String str3, Throwable th) {
+        System.err.println(str + "/" + str2 + ": " + str3 + (th != null ? " (" + th + ")" : ""));
+        return 0;
+    }
+}
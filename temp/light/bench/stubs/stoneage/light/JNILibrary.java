@@ -0,0 +1,6 @@
+package com.stoneage.light;
+
+public class JNILibrary {
+    public static void callbackZipProgress(long j, long j2) {
+    }
+}
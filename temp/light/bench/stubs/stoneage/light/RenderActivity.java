@@ -0,0 +1,7 @@
+package com.stoneage.light;
+
+public class RenderActivity {
+    public static void showErrorMSG(CharSequence charSequence, int i) {
+        System.err.println("showErrorMSG(" + i + "): " + ((Object) charSequence));
+    }
+}
@@ -0,0 +1,11 @@
+package com.stoneage.light;
+
+public class StatusTools {
+    public static int checkIsReCharging() {
+        return 1;
+    }
+
+    public static int getCurrentBattery() {
+        return 100;
+    }
+}
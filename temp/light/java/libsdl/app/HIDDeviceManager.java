@@ -8,7 +8,6 @@ import android.content.BroadcastReceiver;
 import android.content.Context;
 import android.content.Intent;
 import android.content.IntentFilter;
-import android.content.SharedPreferences;
 import android.hardware.usb.UsbDevice;
 import android.hardware.usb.UsbInterface;
 import android.hardware.usb.UsbManager;
@@ -17,6 +16,7 @@ import android.os.Handler;
 import android.os.Looper;
 import android.util.Log;
 import androidx.core.view.PointerIconCompat;
+import com.stoneage.light.ConfigStore;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -35,7 +35,7 @@ public class HIDDeviceManager {
     private boolean mIsChromebook;
     private List<BluetoothDevice> mLastBluetoothDevices;
     private int mNextDeviceId;
-    private SharedPreferences mSharedPreferences;
+    private ConfigStore mConfigStore;
     private UsbManager mUsbManager;
     private HashMap<Integer, HIDDevice> mDevicesById = new HashMap<>();
     private HashMap<BluetoothDevice, HIDDeviceBLESteamController> mBluetoothDevices = new HashMap<>();
@@ -109,13 +109,13 @@ public class HIDDeviceManager {
 
     private HIDDeviceManager(Context context) {
         this.mNextDeviceId = 0;
-        this.mSharedPreferences = null;
+        this.mConfigStore = null;
         this.mIsChromebook = false;
         this.mContext = context;
         HIDDeviceRegisterCallback();
-        this.mSharedPreferences = this.mContext.getSharedPreferences(TAG, 0);
+        this.mConfigStore = ConfigStore.open(this.mContext, TAG, TAG);
         this.mIsChromebook = this.mContext.getPackageManager().hasSystemFeature("org.chromium.arc.device_management");
-        this.mNextDeviceId = this.mSharedPreferences.getInt("next_device_id", 0);
+        this.mNextDeviceId = this.mConfigStore.getInt("next_device_id", 0);
     }
 
     public Context getContext() {
@@ -123,16 +123,14 @@ public class HIDDeviceManager {
     }
 
     public int getDeviceIDForIdentifier(String str) {
-        SharedPreferences.Editor editorEdit = this.mSharedPreferences.edit();
-        int i = this.mSharedPreferences.getInt(str, 0);
+        int i = this.mConfigStore.getInt(str, 0);
         if (i == 0) {
             i = this.mNextDeviceId;
             int i2 = i + 1;
             this.mNextDeviceId = i2;
-            editorEdit.putInt("next_device_id", i2);
+            this.mConfigStore.putInt("next_device_id", i2);
         }
-        editorEdit.putInt(str, i);
-        editorEdit.commit();
+        this.mConfigStore.putInt(str, i);
         return i;
     }
 
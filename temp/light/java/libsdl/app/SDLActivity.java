@@ -40,6 +40,7 @@ import android.widget.TextView;
 import android.widget.Toast;
 import androidx.core.view.InputDeviceCompat;
 import androidx.core.view.PointerIconCompat;
+import com.stoneage.light.ConfigStore;
 import com.stoneage.light.KoUtil$$ExternalSyntheticApiModelOutline0;
 import java.io.FileNotFoundException;
 import java.util.ArrayList;
@@ -306,6 +307,7 @@ public class SDLActivity extends Activity implements View.OnSystemUiVisibilityCh
                 Log.v(TAG, "activity re-created");
             } else {
                 Log.v(TAG, "activity finished");
+                ConfigStore.syncAll();
                 System.exit(0);
                 return;
             }
@@ -358,6 +360,7 @@ public class SDLActivity extends Activity implements View.OnSystemUiVisibilityCh
                 Log.v(TAG, "activity re-created // run_count: " + iNativeCheckSDLThreadCounter);
             } else {
                 Log.v(TAG, "activity finished // run_count: " + iNativeCheckSDLThreadCounter);
+                ConfigStore.syncAll();
                 System.exit(0);
                 return;
             }
@@ -426,6 +429,7 @@ public class SDLActivity extends Activity implements View.OnSystemUiVisibilityCh
     protected void onPause() {
         Log.v(TAG, "onPause()");
         super.onPause();
+        ConfigStore.syncAll();
         HIDDeviceManager hIDDeviceManager = mHIDDeviceManager;
         if (hIDDeviceManager != null) {
             hIDDeviceManager.setFrozen(true);
@@ -454,6 +458,7 @@ public class SDLActivity extends Activity implements View.OnSystemUiVisibilityCh
     protected void onStop() {
         Log.v(TAG, "onStop()");
         super.onStop();
+        ConfigStore.syncAll();
         if (mHasMultiWindow) {
             pauseNativeThread();
         }
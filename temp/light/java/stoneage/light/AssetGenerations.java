@@ -0,0 +1,221 @@
+package com.stoneage.light;
+
+import android.system.ErrnoException;
+import android.system.Os;
+import android.system.OsConstants;
+import android.util.Log;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+
+/* loaded from: classes.dex */
+public class AssetGenerations {
+    public static final String GEN_A = "a";
+    public static final String GEN_B = "b";
+    private static final String STAMP_FILE = ".generation_stamp";
+    private static final String TAG = "AssetGenerations";
+    private final String base;
+
+    public AssetGenerations(String str) {
+        this.base = str;
+    }
+
+    public String getPath(String str) {
+        return this.base + "." + str;
+    }
+
+    public String getActive() {
+        return readPointer(new File(this.base + ".current"));
+    }
+
+    public String getPending() {
+        return readPointer(new File(this.base + ".pending"));
+    }
+
+    public String getInactive() {
+        return GEN_A.equals(getActive()) ? GEN_B : GEN_A;
+    }
+
+    public boolean activatePending() {
+        String pending = getPending();
+        if (pending == null) {
+            return false;
+        }
+        if (!new File(this.base + ".pending").renameTo(new File(this.base + ".current"))) {
+            Log.w(TAG, "activatePending: rename failed");
+            return false;
+        }
+        Log.i(TAG, "switched " + this.base + " to generation " + pending);
+        return link(pending);
+    }
+
+    public void activate(String str) throws IOException {
+        writePointer(new File(this.base + ".current"), str);
+        if (!link(str)) {
+            throw new IOException("cannot link " + this.base + " to generation " + str);
+        }
+    }
+
+    public boolean adopt() {
+        File file = new File(this.base + ".link");
+        file.delete();
+        try {
+            Os.symlink(linkTarget(GEN_A), file.getPath());
+            file.delete();
+        } catch (ErrnoException e) {
+            Log.i(TAG, "symbolic links unavailable under " + this.base + " (errno " + e.errno + "), not staging");
+            return false;
+        }
+        if (readLink() != null) {
+            return true;
+        }
+        File file2 = new File(this.base);
+        File file3 = new File(getPath(GEN_A));
+        if (file2.isDirectory()) {
+            delete(file3);
+            if (!file2.renameTo(file3)) {
+                Log.w(TAG, "adopt: rename failed");
+                return false;
+            }
+        }
+        return link(GEN_A);
+    }
+
+    public boolean link(String str) {
+        String strLinkTarget = linkTarget(str);
+        if (strLinkTarget.equals(readLink())) {
+            return true;
+        }
+        File file = new File(this.base);
+        File file2 = new File(this.base + ".legacy");
+        if (readLink() == null && file.exists()) {
+            delete(file2);
+            if (!file.renameTo(file2)) {
+                Log.w(TAG, "link: cannot move " + this.base + " aside");
+                return false;
+            }
+        }
+        File file3 = new File(this.base + ".link");
+        file3.delete();
+        try {
+            Os.symlink(strLinkTarget, file3.getPath());
+            Os.rename(file3.getPath(), this.base);
+            delete(file2);
+            return true;
+        } catch (ErrnoException e) {
+            Log.w(TAG, "link " + this.base + " to generation " + str, e);
+            file3.delete();
+            return false;
+        }
+    }
+
+    private String linkTarget(String str) {
+        return new File(getPath(str)).getName();
+    }
+
+    private String readLink() {
+        try {
+            return Os.readlink(this.base);
+        } catch (ErrnoException e) {
+            if (e.errno != OsConstants.ENOENT && e.errno != OsConstants.EINVAL) {
+                Log.w(TAG, "readlink " + this.base, e);
+            }
+            return null;
+        }
+    }
+
+    public void setPending(String str) throws IOException {
+        writePointer(new File(this.base + ".pending"), str);
+    }
+
+    public void clearPending() {
+        new File(this.base + ".pending").delete();
+    }
+
+    public static String readStamp(String str) {
+        return readPointer(new File(str, STAMP_FILE));
+    }
+
+    public static void writeStamp(String str, String str2) throws IOException {
+        writePointer(new File(str, STAMP_FILE), str2);
+    }
+
+    static String readPointer(File file) {
+        try {
+            BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(new FileInputStream(file), "UTF-8"));
+            try {
+                String line = bufferedReader.readLine();
+                if (line == null || line.length() == 0) {
+                    return null;
+                }
+                return line;
+            } finally {
+                bufferedReader.close();
+            }
+        } catch (FileNotFoundException unused) {
+            return null;
+        } catch (IOException e) {
+            Log.w(TAG, "read " + file.getPath(), e);
+            return null;
+        }
+    }
+
+    static void writePointer(File file, String str) throws IOException {
+        File file2 = new File(file.getPath() + ".tmp");
+        FileOutputStream fileOutputStream = new FileOutputStream(file2);
+        try {
+            fileOutputStream.write((str + "\n").getBytes("UTF-8"));
+            fileOutputStream.getFD().sync();
+            fileOutputStream.close();
+            if (!file2.renameTo(file)) {
+                throw new IOException("rename failed: " + file.getPath());
+            }
+        } catch (IOException e) {
+            fileOutputStream.close();
+            file2.delete();
+            throw e;
+        }
+    }
+
+    public static int clone(File file, File file2) throws IOException {
+        if (!file2.isDirectory() && !file2.mkdirs()) {
+            throw new IOException("mkdirs failed: " + file2.getPath());
+        }
+        String[] list = file.list();
+        if (list == null) {
+            return 0;
+        }
+        int iClone = 0;
+        for (String str : list) {
+            if (!str.startsWith(".journal_") && !str.endsWith(".part") && !STAMP_FILE.equals(str)) {
+                File file3 = new File(file, str);
+                File file4 = new File(file2, str);
+                if (file3.isDirectory()) {
+                    iClone += clone(file3, file4);
+                } else {
+                    ContentStore.link(file3, file4);
+                    iClone++;
+                }
+            }
+        }
+        return iClone;
+    }
+
+    public static void delete(File file) {
+        File[] fileArrListFiles = file.listFiles();
+        if (fileArrListFiles != null) {
+            for (File file2 : fileArrListFiles) {
+                if (file2.isDirectory()) {
+                    delete(file2);
+                } else {
+                    file2.delete();
+                }
+            }
+        }
+        file.delete();
+    }
+}
@@ -0,0 +1,188 @@
+package com.stoneage.light;
+
+import android.os.ParcelFileDescriptor;
+import android.util.Log;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.HashMap;
+import java.util.zip.ZipException;
+
+/* loaded from: classes.dex */
+public class AssetPack implements Closeable {
+    public static final String FILE_NAME = "assets.pak";
+    static final int HEADER_SIZE = 32;
+    static final int MAGIC = 1263550803;
+    static final int RECORD_SIZE = 28;
+    private static final String TAG = "AssetPack";
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+    private static final HashMap<String, AssetPack> opened = new HashMap<>();
+    private final FileChannel channel;
+    private final int count;
+    private final RandomAccessFile file;
+    private final MappedByteBuffer index;
+    private final int namesBase;
+
+    private AssetPack(RandomAccessFile randomAccessFile) throws IOException {
+        this.file = randomAccessFile;
+        this.channel = randomAccessFile.getChannel();
+        ByteBuffer byteBufferOrder = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        while (byteBufferOrder.hasRemaining()) {
+            if (this.channel.read(byteBufferOrder, byteBufferOrder.position()) < 0) {
+                throw new ZipException("pack too short");
+            }
+        }
+        if (byteBufferOrder.getInt(0) != MAGIC || byteBufferOrder.getInt(4) != 1) {
+            throw new ZipException("not an asset pack");
+        }
+        int i = byteBufferOrder.getInt(8);
+        long j = byteBufferOrder.getLong(16);
+        long j2 = byteBufferOrder.getLong(24);
+        if (i < 0 || j2 < ((long) i) * RECORD_SIZE || j2 > 2147483647L || j + j2 > this.channel.size()) {
+            throw new ZipException("pack index out of range");
+        }
+        this.count = i;
+        this.namesBase = i * RECORD_SIZE;
+        MappedByteBuffer map = this.channel.map(FileChannel.MapMode.READ_ONLY, j, j2);
+        map.order(ByteOrder.LITTLE_ENDIAN);
+        this.index = map;
+    }
+
+    public static AssetPack open(File file) throws IOException {
+        RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+        try {
+            return new AssetPack(randomAccessFile);
+        } catch (IOException e) {
+            randomAccessFile.close();
+            throw e;
+        }
+    }
+
+    static File stampFile(File file) {
+        return new File(file.getPath() + ".stamp");
+    }
+
+    public static String readStamp(File file) {
+        if (!file.isFile()) {
+            return null;
+        }
+        return AssetGenerations.readPointer(stampFile(file));
+    }
+
+    public static synchronized AssetPack get(String str) {
+        AssetPack assetPack = opened.get(str);
+        if (assetPack == null) {
+            try {
+                assetPack = open(new File(str));
+                opened.put(str, assetPack);
+            } catch (IOException e) {
+                Log.w(TAG, "open " + str, e);
+                return null;
+            }
+        }
+        return assetPack;
+    }
+
+    public static synchronized void evict(String str) {
+        AssetPack assetPackRemove = opened.remove(str);
+        if (assetPackRemove != null) {
+            try {
+                assetPackRemove.close();
+            } catch (IOException unused) {
+            }
+        }
+    }
+
+    public static int openFd(String str) {
+        try {
+            return ParcelFileDescriptor.open(new File(str), ParcelFileDescriptor.MODE_READ_ONLY).detachFd();
+        } catch (IOException e) {
+            Log.w(TAG, "openFd " + str, e);
+            return -1;
+        }
+    }
+
+    public static long[] locate(String str, String str2) {
+        int iFind;
+        AssetPack assetPack = get(str);
+        if (assetPack == null || (iFind = assetPack.find(str2)) < 0) {
+            return null;
+        }
+        return new long[]{assetPack.getOffset(iFind), assetPack.getLength(iFind)};
+    }
+
+    static int compareNames(ByteBuffer byteBuffer, int i, int i2, byte[] bArr) {
+        int iMin = Math.min(i2, bArr.length);
+        for (int i3 = 0; i3 < iMin; i3++) {
+            int i4 = (byteBuffer.get(i + i3) & 255) - (bArr[i3] & 255);
+            if (i4 != 0) {
+                return i4;
+            }
+        }
+        return i2 - bArr.length;
+    }
+
+    public int getCount() {
+        return this.count;
+    }
+
+    public int find(String str) {
+        byte[] bytes = str.getBytes(UTF8);
+        int i = 0;
+        int i2 = this.count - 1;
+        while (i <= i2) {
+            int i3 = (i + i2) >>> 1;
+            int i4 = i3 * RECORD_SIZE;
+            int iCompareNames = compareNames(this.index, this.namesBase + this.index.getInt(i4), this.index.getInt(i4 + 4), bytes);
+            if (iCompareNames < 0) {
+                i = i3 + 1;
+            } else if (iCompareNames > 0) {
+                i2 = i3 - 1;
+            } else {
+                return i3;
+            }
+        }
+        return -1;
+    }
+
+    public String getName(int i) {
+        int i2 = i * RECORD_SIZE;
+        byte[] bArr = new byte[this.index.getInt(i2 + 4)];
+        ByteBuffer byteBufferDuplicate = this.index.duplicate();
+        byteBufferDuplicate.position(this.namesBase + this.index.getInt(i2));
+        byteBufferDuplicate.get(bArr);
+        return new String(bArr, UTF8);
+    }
+
+    public long getOffset(int i) {
+        return this.index.getLong((i * RECORD_SIZE) + 8);
+    }
+
+    public long getLength(int i) {
+        return this.index.getLong((i * RECORD_SIZE) + 16);
+    }
+
+    public long getCrc(int i) {
+        return this.index.getInt((i * RECORD_SIZE) + 24) & 4294967295L;
+    }
+
+    public ByteBuffer map(int i) throws IOException {
+        return this.channel.map(FileChannel.MapMode.READ_ONLY, getOffset(i), getLength(i));
+    }
+
+    public InputStream getInputStream(int i) {
+        return new ZipArchive.RangeInputStream(this.channel, getOffset(i), getLength(i));
+    }
+
+    @Override // java.io.Closeable, java.lang.AutoCloseable
+    public void close() throws IOException {
+        this.file.close();
+    }
+}
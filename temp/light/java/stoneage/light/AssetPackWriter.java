@@ -0,0 +1,156 @@
+package com.stoneage.light;
+
+import android.util.Log;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+
+/* loaded from: classes.dex */
+public class AssetPackWriter implements Closeable {
+    private static final String TAG = "AssetPackWriter";
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+    private final FileChannel channel;
+    private boolean committed;
+    private long end = AssetPack.HEADER_SIZE;
+    private final HashMap<String, Slot> slots = new HashMap<>();
+    private String stamp;
+    private final File target;
+    private final File temp;
+    private final RandomAccessFile tempFile;
+
+    static class Slot {
+        final long crc;
+        final long length;
+        final byte[] name;
+        final long offset;
+
+        Slot(byte[] bArr, long j, long j2, long j3) {
+            this.name = bArr;
+            this.offset = j;
+            this.length = j2;
+            this.crc = j3;
+        }
+    }
+
+    public AssetPackWriter(File file) throws IOException {
+        this.target = file;
+        File file2 = new File(file.getPath() + ".tmp");
+        this.temp = file2;
+        RandomAccessFile randomAccessFile = new RandomAccessFile(file2, "rw");
+        this.tempFile = randomAccessFile;
+        randomAccessFile.setLength(0L);
+        this.channel = randomAccessFile.getChannel();
+    }
+
+    public void setStamp(String str) {
+        this.stamp = str;
+    }
+
+    public void preallocate(long j) throws IOException {
+        StorageProbe.preallocate(this.tempFile.getFD(), AssetPack.HEADER_SIZE + j);
+    }
+
+    public synchronized long reserve(String str, long j, long j2) {
+        long j3 = this.end;
+        this.end = j3 + j;
+        this.slots.put(str, new Slot(str.getBytes(UTF8), j3, j, j2));
+        return j3;
+    }
+
+    public synchronized void alias(String str, String str2) throws IOException {
+        Slot slot = this.slots.get(str2);
+        if (slot == null) {
+            throw new IOException("alias target not in pack: " + str2);
+        }
+        this.slots.put(str, new Slot(str.getBytes(UTF8), slot.offset, slot.length, slot.crc));
+    }
+
+    public void write(long j, byte[] bArr, int i, int i2) throws IOException {
+        ByteBuffer byteBufferWrap = ByteBuffer.wrap(bArr, i, i2);
+        while (byteBufferWrap.hasRemaining()) {
+            j += this.channel.write(byteBufferWrap, j);
+        }
+    }
+
+    public synchronized void commit() throws IOException {
+        ArrayList<Slot> arrayList = new ArrayList<>(this.slots.values());
+        Collections.sort(arrayList, new Comparator<Slot>() { // from class: com.stoneage.light.AssetPackWriter.1
+            @Override // java.util.Comparator
+            public int compare(Slot slot, Slot slot2) {
+                return AssetPack.compareNames(ByteBuffer.wrap(slot.name), 0, slot.name.length, slot2.name);
+            }
+        });
+        int length = 0;
+        for (int i = 0; i < arrayList.size(); i++) {
+            length += arrayList.get(i).name.length;
+        }
+        ByteBuffer byteBufferOrder = ByteBuffer.allocate((arrayList.size() * AssetPack.RECORD_SIZE) + length).order(ByteOrder.LITTLE_ENDIAN);
+        int i2 = 0;
+        for (int i3 = 0; i3 < arrayList.size(); i3++) {
+            Slot slot = arrayList.get(i3);
+            byteBufferOrder.putInt(i2);
+            byteBufferOrder.putInt(slot.name.length);
+            byteBufferOrder.putLong(slot.offset);
+            byteBufferOrder.putLong(slot.length);
+            byteBufferOrder.putInt((int) slot.crc);
+            i2 += slot.name.length;
+        }
+        for (int i4 = 0; i4 < arrayList.size(); i4++) {
+            byteBufferOrder.put(arrayList.get(i4).name);
+        }
+        byteBufferOrder.flip();
+        long j = this.end;
+        long jRemaining = byteBufferOrder.remaining();
+        while (byteBufferOrder.hasRemaining()) {
+            this.channel.write(byteBufferOrder, j + byteBufferOrder.position());
+        }
+        this.channel.truncate(j + jRemaining);
+        ByteBuffer byteBufferOrder2 = ByteBuffer.allocate(AssetPack.HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        byteBufferOrder2.putInt(AssetPack.MAGIC);
+        byteBufferOrder2.putInt(1);
+        byteBufferOrder2.putInt(arrayList.size());
+        byteBufferOrder2.putInt(0);
+        byteBufferOrder2.putLong(j);
+        byteBufferOrder2.putLong(jRemaining);
+        byteBufferOrder2.flip();
+        while (byteBufferOrder2.hasRemaining()) {
+            this.channel.write(byteBufferOrder2, byteBufferOrder2.position());
+        }
+        this.channel.force(true);
+        this.tempFile.close();
+        AssetPack.evict(this.target.getPath());
+        if (!this.temp.renameTo(this.target)) {
+            throw new IOException("rename failed: " + this.target.getPath());
+        }
+        this.committed = true;
+        if (this.stamp != null) {
+            try {
+                AssetGenerations.writePointer(AssetPack.stampFile(this.target), this.stamp);
+            } catch (IOException e) {
+                Log.w(TAG, "cannot stamp " + this.target.getName() + ", it will be rebuilt next time", e);
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return this.slots.size();
+    }
+
+    @Override // java.io.Closeable, java.lang.AutoCloseable
+    public synchronized void close() throws IOException {
+        if (this.committed) {
+            return;
+        }
+        this.tempFile.close();
+        this.temp.delete();
+    }
+}
@@ -1,17 +1,34 @@
 package com.stoneage.light;
 
-import android.content.SharedPreferences;
+import android.content.Context;
+import android.content.res.AssetFileDescriptor;
 import android.content.res.AssetManager;
+import android.os.Build;
 import android.os.Environment;
 import android.os.StatFs;
+import android.os.SystemClock;
 import android.text.TextUtils;
+import android.util.Log;
+import java.io.EOFException;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.zip.CRC32;
 
 /* loaded from: classes.dex */
 public class AssetsReleaser {
+    private static final long LOW_SPACE = 268435456;
+    private static final long REQUIRED_SPACE = 1610612736;
+    private static final int SWITCH_GAIN = 2;
+    private static final String TAG = "AssetsReleaser";
+    private static int directMode = -1;
+    private static Thread selectThread;
     private static String workingPath = "0";
 
     public static boolean ReleasePathFile(String str) throws IOException {
@@ -27,30 +44,39 @@ public class AssetsReleaser {
             return false;
         }
         File file2 = new File(workingPath + "/data/" + str);
-        if (!file2.exists() && !file2.mkdirs()) {
+        boolean zExists = file2.exists();
+        if (!zExists && !file2.mkdirs()) {
             RenderActivity.showErrorMSG("释放文件失败！", 2001);
             return false;
         }
+        String str3 = "STONEAGE_RELEASE_" + str.toUpperCase();
+        boolean zIsDirectAssets = isDirectAssets();
+        String strReleaseStamp = releaseStamp() + (zIsDirectAssets ? ":fd" : "");
+        String[] strArrSplit = GetConfig(str3).split("\\|");
+        boolean z = zExists && strArrSplit.length == 3 && strArrSplit[0].equals(workingPath);
+        if (z && strArrSplit[1].equals(strReleaseStamp)) {
+            return true;
+        }
         AssetManager assets = StoneageApplication.getAppContext().getAssets();
         try {
-            for (String str2 : assets.list("data/" + str)) {
-                File file3 = new File(workingPath + "/data/" + str + "/" + str2);
-                if (!file3.exists()) {
-                    file3.createNewFile();
-                    InputStream inputStreamOpen = assets.open("data/" + str + "/" + str2);
-                    FileOutputStream fileOutputStream = new FileOutputStream(workingPath + "/data/" + str + "/" + str2);
-                    byte[] bArr = new byte[1024];
-                    while (true) {
-                        int i = inputStreamOpen.read(bArr);
-                        if (i == -1) {
-                            break;
-                        }
-                        fileOutputStream.write(bArr, 0, i);
-                    }
-                    fileOutputStream.close();
-                    inputStreamOpen.close();
+            String[] list = assets.list("data/" + str);
+            String strListHash = listHash(list);
+            boolean z2 = !z || !strArrSplit[2].equals(strListHash);
+            int i = 0;
+            int i2 = 0;
+            for (String str2 : list) {
+                File file3 = new File(file2, str2);
+                String str4 = "data/" + str + "/" + str2;
+                if (zIsDirectAssets && isStoredInApk(assets, str4)) {
+                    file3.delete();
+                    i2++;
+                } else if (z2 || !file3.exists()) {
+                    copyAsset(assets, str4, file3);
+                    i++;
                 }
             }
+            SetConfig(str3, workingPath + "|" + strReleaseStamp + "|" + strListHash);
+            Log.i(TAG, "data/" + str + ": released " + i + ", served " + i2 + " from the APK, of " + list.length + " files for " + strReleaseStamp);
             return true;
         } catch (IOException unused) {
             RenderActivity.showErrorMSG("释放文件失败！", 2001);
@@ -58,6 +84,150 @@ public class AssetsReleaser {
         }
     }
 
+    public static boolean isDirectAssets() {
+        if (directMode < 0) {
+            int i = 0;
+            try {
+                i = "1".equals(GetConfig("STONEAGE_ASSET_FD")) ? 1 : 0;
+            } catch (Exception e) {
+                Log.w(TAG, "isDirectAssets", e);
+            }
+            directMode = i;
+        }
+        return directMode == 1;
+    }
+
+    public static void setDirectAssets(boolean z) {
+        directMode = z ? 1 : 0;
+        SetConfig("STONEAGE_ASSET_FD", z ? "1" : "0");
+    }
+
+    public static long[] openAssetFd(String str) {
+        if (!isDirectAssets()) {
+            return null;
+        }
+        try {
+            AssetFileDescriptor assetFileDescriptorOpenFd = StoneageApplication.getAppContext().getAssets().openFd(str);
+            try {
+                long length = assetFileDescriptorOpenFd.getLength();
+                if (length < 0) {
+                    return null;
+                }
+                long startOffset = assetFileDescriptorOpenFd.getStartOffset();
+                return new long[]{assetFileDescriptorOpenFd.getParcelFileDescriptor().detachFd(), startOffset, length};
+            } finally {
+                assetFileDescriptorOpenFd.close();
+            }
+        } catch (FileNotFoundException unused) {
+            return null;
+        } catch (IOException e) {
+            Log.w(TAG, "openAssetFd " + str, e);
+            return null;
+        }
+    }
+
+    private static boolean isStoredInApk(AssetManager assetManager, String str) throws IOException {
+        try {
+            AssetFileDescriptor assetFileDescriptorOpenFd = assetManager.openFd(str);
+            boolean z = assetFileDescriptorOpenFd.getLength() >= 0;
+            assetFileDescriptorOpenFd.close();
+            return z;
+        } catch (FileNotFoundException unused) {
+            return false;
+        }
+    }
+
+    private static void copyAsset(AssetManager assetManager, String str, File file) throws IOException {
+        long jElapsedRealtime = SystemClock.elapsedRealtime();
+        File filePartFile = ExtractJournal.partFile(file);
+        FileOutputStream fileOutputStream = new FileOutputStream(filePartFile);
+        try {
+            String str2 = "zero-copy";
+            long jTransferAsset = transferAsset(assetManager, str, fileOutputStream);
+            if (jTransferAsset < 0) {
+                str2 = "buffered";
+                jTransferAsset = streamAsset(assetManager, str, fileOutputStream);
+            }
+            fileOutputStream.close();
+            if (!filePartFile.renameTo(file)) {
+                throw new IOException("rename failed: " + file.getPath());
+            }
+            Log.i(TAG, str + ": " + jTransferAsset + " bytes " + str2 + " in " + (SystemClock.elapsedRealtime() - jElapsedRealtime) + " ms");
+        } catch (IOException e) {
+            fileOutputStream.close();
+            filePartFile.delete();
+            throw e;
+        }
+    }
+
+    private static long transferAsset(AssetManager assetManager, String str, FileOutputStream fileOutputStream) throws IOException {
+        try {
+            AssetFileDescriptor assetFileDescriptorOpenFd = assetManager.openFd(str);
+            try {
+                long length = assetFileDescriptorOpenFd.getLength();
+                if (length < 0) {
+                    return -1L;
+                }
+                FileInputStream fileInputStreamCreateInputStream = assetFileDescriptorOpenFd.createInputStream();
+                try {
+                    StorageProbe.preallocate(fileOutputStream.getFD(), length);
+                    FileChannel channel = fileInputStreamCreateInputStream.getChannel();
+                    FileChannel channel2 = fileOutputStream.getChannel();
+                    long startOffset = assetFileDescriptorOpenFd.getStartOffset();
+                    long j = 0;
+                    while (j < length) {
+                        long jTransferTo = channel.transferTo(startOffset + j, length - j, channel2);
+                        if (jTransferTo <= 0) {
+                            throw new EOFException("truncated asset: " + str);
+                        }
+                        j += jTransferTo;
+                    }
+                    return j;
+                } finally {
+                    fileInputStreamCreateInputStream.close();
+                }
+            } finally {
+                assetFileDescriptorOpenFd.close();
+            }
+        } catch (FileNotFoundException unused) {
+            return -1L;
+        }
+    }
+
+    private static long streamAsset(AssetManager assetManager, String str, FileOutputStream fileOutputStream) throws IOException {
+        byte[] bArrAcquire = BufferPool.acquire(StorageProbe.getChunkSize());
+        InputStream inputStreamOpen = assetManager.open(str);
+        long j = 0;
+        try {
+            while (true) {
+                int i = StorageProbe.fill(inputStreamOpen, bArrAcquire);
+                if (i <= 0) {
+                    return j;
+                }
+                fileOutputStream.write(bArrAcquire, 0, i);
+                j += i;
+            }
+        } finally {
+            inputStreamOpen.close();
+            BufferPool.release(bArrAcquire);
+        }
+    }
+
+    private static String releaseStamp() {
+        File file = new File(StoneageApplication.getAppContext().getApplicationInfo().sourceDir);
+        return StoneageApplication.getAppVersion() + ":" + file.length() + ":" + file.lastModified();
+    }
+
+    private static String listHash(String[] strArr) {
+        CRC32 crc32 = new CRC32();
+        for (String str : strArr) {
+            byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+            crc32.update(bytes, 0, bytes.length);
+            crc32.update(10);
+        }
+        return strArr.length + ":" + Long.toHexString(crc32.getValue());
+    }
+
     public static boolean ReleaseFontFile() {
         return ReleasePathFile("font");
     }
@@ -77,43 +247,126 @@ public class AssetsReleaser {
     }
 
     private static String getStoragePathPrivate() {
-        File externalFilesDir;
         String strGetConfig = GetConfig("STONEAGE_BASE_PATH");
-        if (TextUtils.isEmpty(strGetConfig)) {
-            File filesDir = StoneageApplication.getAppContext().getFilesDir();
-            if (filesDir != null) {
-                String absolutePath = filesDir.getAbsolutePath();
-                if (getDiskSize(absolutePath) < 1610612736) {
-                    if ("mounted".equals(Environment.getExternalStorageState()) && (externalFilesDir = StoneageApplication.getAppContext().getExternalFilesDir(null)) != null) {
-                        String absolutePath2 = externalFilesDir.getAbsolutePath();
-                        if (getDiskSize(absolutePath2) >= 1610612736) {
-                            SetConfig("STONEAGE_BASE_PATH", absolutePath2);
-                            return absolutePath2;
-                        }
-                        return "1";
-                    }
-                    return "1";
+        if (!TextUtils.isEmpty(strGetConfig) && new File(strGetConfig).isDirectory() && storageStamp(strGetConfig).equals(GetConfig("STONEAGE_STORAGE_SELECT")) && getDiskSize(strGetConfig) >= LOW_SPACE) {
+            workingPath = strGetConfig;
+            return strGetConfig;
+        }
+        ArrayList<String> arrayListStorageCandidates = storageCandidates(strGetConfig);
+        if (arrayListStorageCandidates.isEmpty()) {
+            if (!TextUtils.isEmpty(strGetConfig)) {
+                workingPath = strGetConfig;
+                return strGetConfig;
+            }
+            return StoneageApplication.getAppContext().getFilesDir() == null ? "0" : "1";
+        }
+        String str = arrayListStorageCandidates.contains(strGetConfig) ? strGetConfig : arrayListStorageCandidates.get(0);
+        if (!TextUtils.isEmpty(strGetConfig) && !strGetConfig.equals(str)) {
+            Log.i(TAG, "storage moved from " + strGetConfig + " to " + str + ", assets will be released again");
+        }
+        SetConfig("STONEAGE_BASE_PATH", str);
+        if (arrayListStorageCandidates.size() < 2) {
+            SetConfig("STONEAGE_STORAGE_SELECT", storageStamp(str));
+        } else {
+            selectStorageInBackground(arrayListStorageCandidates, str);
+        }
+        return str;
+    }
+
+    private static void selectStorageInBackground(final ArrayList<String> arrayList, final String str) {
+        if (selectThread != null && selectThread.isAlive()) {
+            return;
+        }
+        Thread thread = new Thread(new Runnable() { // from class: com.stoneage.light.AssetsReleaser.1
+            @Override // java.lang.Runnable
+            public void run() {
+                String strSelectStorage = AssetsReleaser.selectStorage(arrayList, str);
+                if (!str.equals(strSelectStorage)) {
+                    Log.i(AssetsReleaser.TAG, "storage will move from " + str + " to " + strSelectStorage + " on next launch");
                 }
-                SetConfig("STONEAGE_BASE_PATH", absolutePath);
-                return absolutePath;
+                AssetsReleaser.SetConfig("STONEAGE_BASE_PATH", strSelectStorage);
+                AssetsReleaser.SetConfig("STONEAGE_STORAGE_SELECT", AssetsReleaser.storageStamp(strSelectStorage));
             }
-            return "0";
+        }, "AssetsReleaser-SelectStorage");
+        thread.setPriority(1);
+        selectThread = thread;
+        thread.start();
+    }
+
+    private static ArrayList<String> storageCandidates(String str) {
+        File externalFilesDir;
+        Context appContext = StoneageApplication.getAppContext();
+        ArrayList<String> arrayList = new ArrayList<>();
+        File filesDir = appContext.getFilesDir();
+        if (filesDir != null) {
+            addStorageCandidate(arrayList, filesDir.getAbsolutePath(), str);
         }
-        workingPath = strGetConfig;
-        return strGetConfig;
+        if ("mounted".equals(Environment.getExternalStorageState()) && (externalFilesDir = appContext.getExternalFilesDir(null)) != null) {
+            addStorageCandidate(arrayList, externalFilesDir.getAbsolutePath(), str);
+        }
+        return arrayList;
+    }
+
+    static String selectStorage(ArrayList<String> arrayList, String str) {
+        String str2 = null;
+        long j = 0;
+        long j2 = 0;
+        for (String str3 : arrayList) {
+            long jScore = StorageProbe.score(new File(str3));
+            if (str3.equals(str)) {
+                j2 = jScore;
+            }
+            if (str2 == null || jScore > j) {
+                str2 = str3;
+                j = jScore;
+            }
+        }
+        if (j2 > 0 && !str2.equals(str) && j < j2 * SWITCH_GAIN) {
+            return str;
+        }
+        return str2;
+    }
+
+    private static void addStorageCandidate(ArrayList<String> arrayList, String str, String str2) {
+        if (arrayList.contains(str) || !new File(str).isDirectory()) {
+            return;
+        }
+        long diskSize = getDiskSize(str);
+        if (diskSize >= REQUIRED_SPACE || (str.equals(str2) && diskSize >= LOW_SPACE)) {
+            arrayList.add(str);
+        } else {
+            Log.i(TAG, str + ": " + (diskSize >> 20) + " MB free, skipped");
+        }
+    }
+
+    static String storageStamp(String str) {
+        long blockCountLong;
+        try {
+            StatFs statFs = new StatFs(str);
+            blockCountLong = statFs.getBlockSizeLong() * statFs.getBlockCountLong();
+        } catch (IllegalArgumentException unused) {
+            blockCountLong = 0;
+        }
+        return str + "|" + Build.FINGERPRINT + "|" + Environment.getExternalStorageState() + "|" + blockCountLong;
     }
 
     public static String getStoragePath() {
         return workingPath;
     }
 
+    private static ConfigStore getConfigStore() {
+        return ConfigStore.open(StoneageApplication.getAppContext(), "stoneage", "");
+    }
+
     public static void SetConfig(String str, String str2) {
-        SharedPreferences.Editor editorEdit = StoneageApplication.getActivity().getSharedPreferences("", 0).edit();
-        editorEdit.putString(str, str2);
-        editorEdit.commit();
+        getConfigStore().putString(str, str2);
     }
 
     public static String GetConfig(String str) {
-        return StoneageApplication.getActivity().getSharedPreferences("", 0).getString(str, "");
+        return getConfigStore().getString(str, "");
+    }
+
+    public static void SyncConfig() {
+        getConfigStore().sync();
     }
 }
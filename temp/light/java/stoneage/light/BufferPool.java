@@ -0,0 +1,68 @@
+package com.stoneage.light;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/* loaded from: classes.dex */
+public class BufferPool {
+    public static final int LARGE = 1048576;
+    private static final int MAX_POOLED_BYTES = 16777216;
+    public static final int SMALL = 65536;
+    private static final AtomicLong acquired = new AtomicLong();
+    private static final AtomicLong allocated = new AtomicLong();
+    private static final AtomicLong allocatedBytes = new AtomicLong();
+    private static final HashMap<Integer, ArrayDeque<byte[]>> pools = new HashMap<>();
+    private static long pooledBytes;
+
+    public static byte[] acquire(int i) {
+        acquired.incrementAndGet();
+        synchronized (pools) {
+            ArrayDeque<byte[]> arrayDeque = pools.get(Integer.valueOf(i));
+            if (arrayDeque != null && !arrayDeque.isEmpty()) {
+                pooledBytes -= i;
+                return arrayDeque.pop();
+            }
+            allocated.incrementAndGet();
+            allocatedBytes.addAndGet(i);
+            return new byte[i];
+        }
+    }
+
+    public static void release(byte[] bArr) {
+        if (bArr == null) {
+            return;
+        }
+        synchronized (pools) {
+            if (pooledBytes + bArr.length > MAX_POOLED_BYTES) {
+                return;
+            }
+            ArrayDeque<byte[]> arrayDeque = pools.get(Integer.valueOf(bArr.length));
+            if (arrayDeque == null) {
+                arrayDeque = new ArrayDeque<>();
+                pools.put(Integer.valueOf(bArr.length), arrayDeque);
+            }
+            arrayDeque.push(bArr);
+            pooledBytes += bArr.length;
+        }
+    }
+
+    public static void trim() {
+        synchronized (pools) {
+            pools.clear();
+            pooledBytes = 0L;
+        }
+    }
+
+    public static long getAcquireCount() {
+        return acquired.get();
+    }
+
+    public static long getAllocationCount() {
+        return allocated.get();
+    }
+
+    public static long getAllocatedBytes() {
+        return allocatedBytes.get();
+    }
+}
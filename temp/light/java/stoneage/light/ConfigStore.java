@@ -0,0 +1,268 @@
+package com.stoneage.light;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/* loaded from: classes.dex */
+public class ConfigStore {
+    private static final long BATCH_MILLIS = 200;
+    private static final int MAGIC = 1396786758;
+    private static final long MAX_RETRY_MILLIS = 60000;
+    private static final long RETRY_MILLIS = 1000;
+    private static final String TAG = "ConfigStore";
+    private static final int VERSION = 1;
+    private static final HashMap<String, ConfigStore> stores = new HashMap<>();
+    private static ScheduledExecutorService writer;
+    private final File file;
+    private long retryMillis;
+    private boolean scheduled;
+    private long version;
+    private long writtenVersion;
+    private final HashMap<String, String> values = new HashMap<>();
+    private final Object writeLock = new Object();
+
+    ConfigStore(File file) {
+        this.file = file;
+    }
+
+    public static synchronized ConfigStore open(Context context, String str, String str2) {
+        ConfigStore configStore = stores.get(str);
+        if (configStore == null) {
+            configStore = new ConfigStore(new File(context.getFilesDir(), str + ".cfg"));
+            if (!configStore.load() && str2 != null) {
+                configStore.importPreferences(context.getSharedPreferences(str2, 0));
+            }
+            stores.put(str, configStore);
+        }
+        return configStore;
+    }
+
+    public static void syncAll() {
+        ArrayList<ConfigStore> arrayList;
+        synchronized (ConfigStore.class) {
+            arrayList = new ArrayList<>(stores.values());
+        }
+        for (int i = 0; i < arrayList.size(); i++) {
+            arrayList.get(i).sync();
+        }
+    }
+
+    public static void reset() {
+        syncAll();
+        synchronized (ConfigStore.class) {
+            stores.clear();
+        }
+    }
+
+    public synchronized String getString(String str, String str2) {
+        String str3 = this.values.get(str);
+        return str3 != null ? str3 : str2;
+    }
+
+    public int getInt(String str, int i) {
+        String string = getString(str, null);
+        if (string == null) {
+            return i;
+        }
+        try {
+            return Integer.parseInt(string);
+        } catch (NumberFormatException unused) {
+            return i;
+        }
+    }
+
+    public synchronized void putString(String str, String str2) {
+        if (str2 == null) {
+            remove(str);
+        } else {
+            if (str2.equals(this.values.put(str, str2))) {
+                return;
+            }
+            changed();
+        }
+    }
+
+    public void putInt(String str, int i) {
+        putString(str, Integer.toString(i));
+    }
+
+    public synchronized void remove(String str) {
+        if (this.values.remove(str) != null) {
+            changed();
+        }
+    }
+
+    public void sync() {
+        synchronized (this.writeLock) {
+            write();
+        }
+    }
+
+    private void changed() {
+        this.version++;
+        schedule(BATCH_MILLIS);
+    }
+
+    private synchronized void schedule(long j) {
+        if (this.scheduled) {
+            return;
+        }
+        this.scheduled = true;
+        getWriter().schedule(new Runnable() { // from class: com.stoneage.light.ConfigStore.1
+            @Override // java.lang.Runnable
+            public void run() {
+                synchronized (ConfigStore.this) {
+                    ConfigStore.this.scheduled = false;
+                }
+                ConfigStore.this.sync();
+            }
+        }, j, TimeUnit.MILLISECONDS);
+    }
+
+    private static synchronized ScheduledExecutorService getWriter() {
+        if (writer == null) {
+            writer = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() { // from class: com.stoneage.light.ConfigStore.2
+                @Override // java.util.concurrent.ThreadFactory
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "ConfigStore");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+        return writer;
+    }
+
+    private void importPreferences(SharedPreferences sharedPreferences) {
+        Map<String, ?> all = sharedPreferences.getAll();
+        if (all == null || all.isEmpty()) {
+            return;
+        }
+        synchronized (this) {
+            for (Map.Entry<String, ?> entry : all.entrySet()) {
+                if (entry.getValue() != null) {
+                    this.values.put(entry.getKey(), String.valueOf(entry.getValue()));
+                }
+            }
+            changed();
+        }
+        Log.i(TAG, this.file.getName() + ": imported " + all.size() + " preferences");
+    }
+
+    private boolean load() {
+        try {
+            FileInputStream fileInputStream = new FileInputStream(this.file);
+            try {
+                byte[] bArr = new byte[(int) this.file.length()];
+                int i = 0;
+                while (i < bArr.length) {
+                    int i2 = fileInputStream.read(bArr, i, bArr.length - i);
+                    if (i2 <= 0) {
+                        break;
+                    }
+                    i += i2;
+                }
+                if (i < 16) {
+                    throw new IOException("truncated");
+                }
+                CRC32 crc32 = new CRC32();
+                crc32.update(bArr, 0, i - 4);
+                DataInputStream dataInputStream = new DataInputStream(new ByteArrayInputStream(bArr, 0, i));
+                if (dataInputStream.readInt() != MAGIC || dataInputStream.readInt() != VERSION) {
+                    throw new IOException("bad header");
+                }
+                int i3 = dataInputStream.readInt();
+                HashMap<String, String> hashMap = new HashMap<>(i3 * 2);
+                for (int i4 = 0; i4 < i3; i4++) {
+                    hashMap.put(dataInputStream.readUTF(), dataInputStream.readUTF());
+                }
+                if ((dataInputStream.readInt() & 4294967295L) != crc32.getValue()) {
+                    throw new IOException("checksum mismatch");
+                }
+                synchronized (this) {
+                    this.values.putAll(hashMap);
+                }
+                return true;
+            } finally {
+                fileInputStream.close();
+            }
+        } catch (FileNotFoundException unused) {
+            return false;
+        } catch (IOException e) {
+            File file = new File(this.file.getPath() + ".bad");
+            file.delete();
+            Log.w(TAG, "load " + this.file.getName() + ": unreadable, starting empty" + (this.file.renameTo(file) ? " and keeping it as " + file.getName() : ""), e);
+            synchronized (this) {
+                changed();
+            }
+            return true;
+        }
+    }
+
+    private void write() {
+        long j;
+        HashMap<String, String> hashMap;
+        synchronized (this) {
+            j = this.version;
+            if (j == this.writtenVersion) {
+                return;
+            }
+            hashMap = new HashMap<>(this.values);
+        }
+        File file = new File(this.file.getPath() + ".tmp");
+        try {
+            ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+            DataOutputStream dataOutputStream = new DataOutputStream(byteArrayOutputStream);
+            dataOutputStream.writeInt(MAGIC);
+            dataOutputStream.writeInt(VERSION);
+            dataOutputStream.writeInt(hashMap.size());
+            for (Map.Entry<String, String> entry : hashMap.entrySet()) {
+                dataOutputStream.writeUTF(entry.getKey());
+                dataOutputStream.writeUTF(entry.getValue());
+            }
+            CRC32 crc32 = new CRC32();
+            crc32.update(byteArrayOutputStream.toByteArray());
+            dataOutputStream.writeInt((int) crc32.getValue());
+            dataOutputStream.flush();
+            FileOutputStream fileOutputStream = new FileOutputStream(file);
+            try {
+                byteArrayOutputStream.writeTo(fileOutputStream);
+                fileOutputStream.getFD().sync();
+            } finally {
+                fileOutputStream.close();
+            }
+            if (!file.renameTo(this.file)) {
+                throw new IOException("rename failed: " + this.file.getPath());
+            }
+            synchronized (this) {
+                this.writtenVersion = j;
+                this.retryMillis = 0L;
+            }
+        } catch (IOException e) {
+            file.delete();
+            synchronized (this) {
+                this.retryMillis = this.retryMillis == 0 ? RETRY_MILLIS : Math.min(this.retryMillis * 2, MAX_RETRY_MILLIS);
+                Log.w(TAG, "write " + this.file.getName() + ", retrying in " + this.retryMillis + " ms", e);
+                schedule(this.retryMillis);
+            }
+        }
+    }
+}
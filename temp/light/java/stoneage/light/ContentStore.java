@@ -0,0 +1,174 @@
+package com.stoneage.light;
+
+import android.system.ErrnoException;
+import android.system.Os;
+import android.system.OsConstants;
+import android.util.Log;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/* loaded from: classes.dex */
+public class ContentStore {
+    private static final String TAG = "ContentStore";
+    private final ArrayList<Alias> aliases = new ArrayList<>();
+    private long aliasBytes;
+    private final ArrayList<PatchPlan.Item> unique = new ArrayList<>();
+
+    public static class Alias {
+        public final PatchPlan.Item item;
+        public final PatchPlan.Item primary;
+
+        Alias(PatchPlan.Item item, PatchPlan.Item item2) {
+            this.item = item;
+            this.primary = item2;
+        }
+    }
+
+    public ContentStore(ZipArchive[] zipArchiveArr, List<PatchPlan.Item> list) {
+        HashMap<String, PatchPlan.Item> hashMap = new HashMap<>();
+        for (PatchPlan.Item item : list) {
+            if (item.entry.isDirectory() || item.entry.size == 0) {
+                this.unique.add(item);
+            } else {
+                String str = Long.toHexString(item.entry.crc) + ":" + item.entry.size + ":" + item.entry.method + ":" + item.entry.compressedSize;
+                PatchPlan.Item item2 = hashMap.get(str);
+                if (item2 == null) {
+                    hashMap.put(str, item);
+                    this.unique.add(item);
+                } else if (!sameBytes(zipArchiveArr[item2.patch], item2.entry, zipArchiveArr[item.patch], item.entry)) {
+                    Log.w(TAG, item.entry.name + " collides with " + item2.entry.name + " but differs, not deduplicated");
+                    this.unique.add(item);
+                } else {
+                    this.aliases.add(new Alias(item, item2));
+                    this.aliasBytes += item.entry.size;
+                }
+            }
+        }
+    }
+
+    static boolean sameBytes(ZipArchive zipArchive, ZipArchive.Entry entry, ZipArchive zipArchive2, ZipArchive.Entry entry2) {
+        byte[] bArrAcquire = BufferPool.acquire(BufferPool.SMALL);
+        byte[] bArrAcquire2 = BufferPool.acquire(BufferPool.SMALL);
+        try {
+            InputStream rawInputStream = zipArchive.getRawInputStream(entry);
+            try {
+                InputStream rawInputStream2 = zipArchive2.getRawInputStream(entry2);
+                try {
+                    while (true) {
+                        int iFill = StorageProbe.fill(rawInputStream, bArrAcquire);
+                        if (iFill != StorageProbe.fill(rawInputStream2, bArrAcquire2)) {
+                            return false;
+                        }
+                        if (iFill <= 0) {
+                            return true;
+                        }
+                        for (int i = 0; i < iFill; i++) {
+                            if (bArrAcquire[i] != bArrAcquire2[i]) {
+                                return false;
+                            }
+                        }
+                    }
+                } finally {
+                    rawInputStream2.close();
+                }
+            } finally {
+                rawInputStream.close();
+            }
+        } catch (IOException e) {
+            Log.w(TAG, "compare " + entry.name + " with " + entry2.name, e);
+            return false;
+        } finally {
+            BufferPool.release(bArrAcquire);
+            BufferPool.release(bArrAcquire2);
+        }
+    }
+
+    public List<PatchPlan.Item> getUnique() {
+        return this.unique;
+    }
+
+    public List<Alias> getAliases() {
+        return this.aliases;
+    }
+
+    public long getAliasBytes() {
+        return this.aliasBytes;
+    }
+
+    public int link(String str) throws IOException {
+        DirectoryCache directoryCache = new DirectoryCache();
+        int i = 0;
+        for (int i2 = 0; i2 < this.aliases.size(); i2++) {
+            Alias alias = this.aliases.get(i2);
+            File file = new File(str + File.separator + alias.item.entry.name);
+            directoryCache.ensureParent(file);
+            if (link(new File(str + File.separator + alias.primary.entry.name), file)) {
+                i++;
+            }
+        }
+        if (!this.aliases.isEmpty()) {
+            Log.i(TAG, "deduplicated " + this.aliases.size() + " entries (" + (this.aliasBytes >> 10) + " KB), " + i + " hard links");
+        }
+        return i;
+    }
+
+    public void alias(AssetPackWriter assetPackWriter) throws IOException {
+        for (int i = 0; i < this.aliases.size(); i++) {
+            Alias alias = this.aliases.get(i);
+            assetPackWriter.alias(alias.item.entry.name, alias.primary.entry.name);
+        }
+    }
+
+    static boolean link(File file, File file2) throws IOException {
+        try {
+            Os.link(file.getPath(), file2.getPath());
+            return true;
+        } catch (ErrnoException e) {
+            if (e.errno == OsConstants.EEXIST) {
+                file2.delete();
+                try {
+                    Os.link(file.getPath(), file2.getPath());
+                    return true;
+                } catch (ErrnoException unused) {
+                }
+            }
+            copy(file, file2);
+            return false;
+        }
+    }
+
+    static void copy(File file, File file2) throws IOException {
+        File filePartFile = ExtractJournal.partFile(file2);
+        FileInputStream fileInputStream = new FileInputStream(file);
+        try {
+            FileOutputStream fileOutputStream = new FileOutputStream(filePartFile);
+            try {
+                FileChannel channel = fileInputStream.getChannel();
+                long size = channel.size();
+                StorageProbe.preallocate(fileOutputStream.getFD(), size);
+                long j = 0;
+                while (j < size) {
+                    long jTransferTo = channel.transferTo(j, size - j, fileOutputStream.getChannel());
+                    if (jTransferTo <= 0) {
+                        throw new IOException("short copy: " + file.getPath());
+                    }
+                    j += jTransferTo;
+                }
+            } finally {
+                fileOutputStream.close();
+            }
+        } finally {
+            fileInputStream.close();
+        }
+        if (!filePartFile.renameTo(file2)) {
+            throw new IOException("rename failed: " + file2.getPath());
+        }
+    }
+}
@@ -1,16 +1,47 @@
 package com.stoneage.light;
 
+import android.content.res.AssetFileDescriptor;
+import android.os.SystemClock;
+import android.text.TextUtils;
 import android.util.Log;
+import java.io.Closeable;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.util.Date;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 
 /* loaded from: classes.dex */
 public class Decompress {
+    public static final int EXTRACT_MODE_PARALLEL = 1;
+    public static final int EXTRACT_MODE_PIPELINED = 2;
+    public static final int EXTRACT_MODE_SEQUENTIAL = 0;
+    public static final int INSTALL_TARGET_FILES = 0;
+    public static final int INSTALL_TARGET_LAZY = 2;
+    public static final int INSTALL_TARGET_PACK = 1;
+    private static int extractMode = -1;
+    private static int incrementalMode = -1;
+    private static int installTarget = -1;
+    private static int consolidateMode = -1;
+    private static int stagedMode = -1;
+    private static int verifyMode = -1;
+    private static volatile boolean backgroundComplete;
+    private static volatile boolean bootReady;
+    private static volatile Thread consolidateThread;
+    private static volatile Thread stageThread;
+    private static volatile AtomicBoolean tierCancel;
+    private static volatile String tierLocation;
+    private static volatile Thread tierThread;
+    private DirectoryCache _dirs = new DirectoryCache();
     private String _location;
     private String _zipFile;
 
@@ -20,122 +51,1195 @@ public class Decompress {
         _dirChecker("");
     }
 
+    public static int getExtractMode() {
+        if (extractMode < 0) {
+            int i = EXTRACT_MODE_SEQUENTIAL;
+            try {
+                String strGetConfig = AssetsReleaser.GetConfig("STONEAGE_UNZIP_MODE");
+                if (!TextUtils.isEmpty(strGetConfig)) {
+                    i = Integer.parseInt(strGetConfig);
+                }
+            } catch (Exception e) {
+                Log.w("Decompress", "getExtractMode", e);
+            }
+            extractMode = i;
+        }
+        return extractMode;
+    }
+
+    public static void setExtractMode(int i) {
+        extractMode = i;
+        AssetsReleaser.SetConfig("STONEAGE_UNZIP_MODE", Integer.toString(i));
+    }
+
+    public static boolean isIncremental() {
+        if (incrementalMode < 0) {
+            int i = 0;
+            try {
+                i = "1".equals(AssetsReleaser.GetConfig("STONEAGE_UNZIP_INCREMENTAL")) ? 1 : 0;
+            } catch (Exception e) {
+                Log.w("Decompress", "isIncremental", e);
+            }
+            incrementalMode = i;
+        }
+        return incrementalMode == 1;
+    }
+
+    public static void setIncremental(boolean z) {
+        incrementalMode = z ? 1 : 0;
+        AssetsReleaser.SetConfig("STONEAGE_UNZIP_INCREMENTAL", z ? "1" : "0");
+    }
+
+    public static int getInstallTarget() {
+        if (installTarget < 0) {
+            int i = INSTALL_TARGET_FILES;
+            try {
+                String strGetConfig = AssetsReleaser.GetConfig("STONEAGE_INSTALL_TARGET");
+                if (!TextUtils.isEmpty(strGetConfig)) {
+                    i = Integer.parseInt(strGetConfig);
+                }
+            } catch (Exception e) {
+                Log.w("Decompress", "getInstallTarget", e);
+            }
+            installTarget = i;
+        }
+        return installTarget;
+    }
+
+    public static void setInstallTarget(int i) {
+        installTarget = i;
+        AssetsReleaser.SetConfig("STONEAGE_INSTALL_TARGET", Integer.toString(i));
+    }
+
+    public static boolean isVerify() {
+        if (verifyMode < 0) {
+            int i = 0;
+            try {
+                i = "1".equals(AssetsReleaser.GetConfig("STONEAGE_UNZIP_VERIFY")) ? 1 : 0;
+            } catch (Exception e) {
+                Log.w("Decompress", "isVerify", e);
+            }
+            verifyMode = i;
+        }
+        return verifyMode == 1;
+    }
+
+    public static void setVerify(boolean z) {
+        verifyMode = z ? 1 : 0;
+        AssetsReleaser.SetConfig("STONEAGE_UNZIP_VERIFY", z ? "1" : "0");
+    }
+
+    public static boolean isStaged() {
+        if (stagedMode < 0) {
+            int i = 0;
+            try {
+                i = "1".equals(AssetsReleaser.GetConfig("STONEAGE_UNZIP_STAGED")) ? 1 : 0;
+            } catch (Exception e) {
+                Log.w("Decompress", "isStaged", e);
+            }
+            stagedMode = i;
+        }
+        return stagedMode == 1;
+    }
+
+    public static void setStaged(boolean z) {
+        stagedMode = z ? 1 : 0;
+        AssetsReleaser.SetConfig("STONEAGE_UNZIP_STAGED", z ? "1" : "0");
+    }
+
+    public static boolean isConsolidate() {
+        if (consolidateMode < 0) {
+            int i = 0;
+            try {
+                i = "1".equals(AssetsReleaser.GetConfig("STONEAGE_UNZIP_CONSOLIDATE")) ? 1 : 0;
+            } catch (Exception e) {
+                Log.w("Decompress", "isConsolidate", e);
+            }
+            consolidateMode = i;
+        }
+        return consolidateMode == 1;
+    }
+
+    public static void setConsolidate(boolean z) {
+        consolidateMode = z ? 1 : 0;
+        AssetsReleaser.SetConfig("STONEAGE_UNZIP_CONSOLIDATE", z ? "1" : "0");
+    }
+
+    public static String getPackPath(String str) {
+        return AssetsReleaser.getStoragePath() + str + File.separator + AssetPack.FILE_NAME;
+    }
+
     public static boolean UnZipAssets(String str, String str2, boolean z) throws IOException {
-        int i;
-        File file = new File(str2);
-        if (!file.exists()) {
-            file.mkdirs();
+        return UnZipAssets(str, str2, z, isVerify(), null, 0);
+    }
+
+    private static boolean UnZipAssets(String str, String str2, boolean z, boolean z2, ExtractJournal extractJournal, int i) throws IOException {
+        ZipProgress zipProgressBegin = ZipProgress.begin(ZipProgress.current() == null ? measureAsset(str) : 0L);
+        try {
+            Set<String> setKeptEntries = (!z2 || z) ? null : keptEntries(str, str2);
+            if (!UnZipAssetsInternal(str, str2, z, extractJournal, i)) {
+                return false;
+            }
+            if (z2) {
+                try {
+                    ZipArchive zipArchiveOpenAsset = openAsset(str);
+                    try {
+                        return verifyInstall(new ZipArchive[]{zipArchiveOpenAsset}, str2, setKeptEntries);
+                    } finally {
+                        zipArchiveOpenAsset.close();
+                    }
+                } catch (IOException e) {
+                    Log.w("Decompress", "UnZipAssets: verification unavailable", e);
+                }
+            }
+            return true;
+        } finally {
+            zipProgressBegin.end();
         }
+    }
+
+    private static Set<String> keptEntries(String str, String str2) {
+        HashSet<String> hashSet = new HashSet<>();
+        try {
+            for (ZipArchive.Entry entry : listAsset(str)) {
+                if (!entry.isDirectory() && new File(str2 + File.separator + entry.name).exists()) {
+                    hashSet.add(entry.name);
+                }
+            }
+        } catch (IOException e) {
+            Log.w("Decompress", "keptEntries " + str, e);
+        }
+        return hashSet;
+    }
+
+    private static boolean UnZipAssetsInternal(String str, String str2, boolean z, ExtractJournal extractJournal, int i) throws IOException {
+        boolean z2 = getExtractMode() == EXTRACT_MODE_PARALLEL;
+        if (z2 || assetUsesCodecs(str)) {
+            try {
+                ZipArchive zipArchiveOpenAsset = openAsset(str);
+                try {
+                    ParallelDecompress parallelDecompress = new ParallelDecompress(zipArchiveOpenAsset, str2, z2 ? ParallelDecompress.defaultWorkers() : 1);
+                    if (extractJournal != null) {
+                        parallelDecompress.setJournal(extractJournal);
+                        return parallelDecompress.extract(z);
+                    }
+                    ExtractJournal extractJournalOpenJournal = openJournal(str2, str, "cd:" + assetKey(str));
+                    parallelDecompress.setJournal(extractJournalOpenJournal);
+                    return closeJournal(extractJournalOpenJournal, parallelDecompress.extract(z));
+                } finally {
+                    zipArchiveOpenAsset.close();
+                }
+            } catch (IOException e) {
+                Log.w("Decompress", "UnZipAssets: parallel extraction unavailable, falling back", e);
+            }
+        }
+        return UnZipAssetsSequential(str, str2, z, extractJournal != null ? extractJournal.window(i) : null);
+    }
+
+    private static boolean UnZipAssetsSequential(String str, String str2, boolean z, ExtractJournal extractJournal) throws IOException {
+        DirectoryCache directoryCache = new DirectoryCache();
+        directoryCache.ensure(new File(str2));
+        ExtractPipeline extractPipeline = getExtractMode() == EXTRACT_MODE_PIPELINED ? new ExtractPipeline(StorageProbe.getChunkSize(), ExtractPipeline.DEFAULT_DEPTH) : null;
+        ExtractJournal extractJournalOpenJournal = extractJournal != null ? extractJournal : openJournal(str2, str, "seq:" + assetKey(str));
+        ZipProgress zipProgressCurrent = ZipProgress.current();
+        byte[] bArrAcquire = BufferPool.acquire(StorageProbe.getChunkSize());
+        boolean z2 = false;
         try {
             ZipInputStream zipInputStream = new ZipInputStream(StoneageApplication.getAppContext().getAssets().open(str));
-            byte[] bArr = new byte[1048576];
+            int i = 0;
             for (ZipEntry nextEntry = zipInputStream.getNextEntry(); nextEntry != null; nextEntry = zipInputStream.getNextEntry()) {
                 long size = nextEntry.getSize();
                 if (nextEntry.isDirectory()) {
-                    File file2 = new File(str2 + File.separator + nextEntry.getName());
-                    if (!file2.exists()) {
-                        file2.mkdir();
-                    }
+                    directoryCache.ensure(new File(str2 + File.separator + nextEntry.getName()));
                 } else {
-                    File file3 = new File(str2 + File.separator + nextEntry.getName());
-                    if (z || !file3.exists()) {
-                        file3.createNewFile();
-                        FileOutputStream fileOutputStream = new FileOutputStream(file3);
-                        i = 0;
-                        while (true) {
-                            int i2 = zipInputStream.read(bArr);
-                            if (i2 <= 0) {
-                                break;
-                            }
-                            fileOutputStream.write(bArr, 0, i2);
-                            i += i2;
-                        }
-                        fileOutputStream.close();
+                    File file = new File(str2 + File.separator + nextEntry.getName());
+                    directoryCache.ensureParent(file);
+                    if ((extractJournalOpenJournal == null || !extractJournalOpenJournal.isCommitted(i)) && (z || directoryCache.isFresh(file.getParentFile()) || !file.exists())) {
+                        copyEntry(zipInputStream, file, size, i, bArrAcquire, extractPipeline, extractJournalOpenJournal, zipProgressCurrent, directoryCache);
+                    } else {
+                        zipProgressCurrent.advance(size);
                     }
-                    JNILibrary.callbackZipProgress(i, size);
                 }
-                i = 0;
-                JNILibrary.callbackZipProgress(i, size);
+                i++;
             }
             zipInputStream.close();
+            if (extractPipeline != null) {
+                extractPipeline.finish();
+            }
+            z2 = true;
             return true;
         } catch (Exception e) {
             Log.e("Decompress", "UnZipAssets", e);
             return false;
+        } finally {
+            if (extractPipeline != null) {
+                extractPipeline.close();
+            }
+            BufferPool.release(bArrAcquire);
+            if (extractJournal == null) {
+                closeJournal(extractJournalOpenJournal, z2);
+            }
         }
     }
 
     public boolean unzip() throws IOException {
-        int i;
+        ZipProgress zipProgressBegin = ZipProgress.begin(ZipProgress.current() == null ? measureFile(this._zipFile) : 0L);
         try {
-            ZipInputStream zipInputStream = new ZipInputStream(new FileInputStream(this._zipFile));
-            File file = new File(this._location + File.separator);
-            if (!file.exists()) {
-                file.mkdirs();
+            if (!unzipInternal()) {
+                return false;
+            }
+            if (isVerify()) {
+                try {
+                    ZipArchive zipArchiveOpen = ZipArchive.open(new File(this._zipFile));
+                    try {
+                        return verifyInstall(new ZipArchive[]{zipArchiveOpen}, this._location);
+                    } finally {
+                        zipArchiveOpen.close();
+                    }
+                } catch (IOException e) {
+                    Log.w("Decompress", "unzip: verification unavailable", e);
+                }
+            }
+            return true;
+        } finally {
+            zipProgressBegin.end();
+        }
+    }
+
+    private boolean unzipInternal() throws IOException {
+        boolean z = getExtractMode() == EXTRACT_MODE_PARALLEL;
+        if (z || fileUsesCodecs(this._zipFile)) {
+            try {
+                ZipArchive zipArchiveOpen = ZipArchive.open(new File(this._zipFile));
+                try {
+                    ParallelDecompress parallelDecompress = new ParallelDecompress(zipArchiveOpen, this._location, z ? ParallelDecompress.defaultWorkers() : 1);
+                    ExtractJournal extractJournalOpenJournal = openJournal(this._location, new File(this._zipFile).getName(), "cd:" + fileKey(this._zipFile));
+                    parallelDecompress.setJournal(extractJournalOpenJournal);
+                    return closeJournal(extractJournalOpenJournal, parallelDecompress.extract(true));
+                } finally {
+                    zipArchiveOpen.close();
+                }
+            } catch (IOException e) {
+                Log.w("Decompress", "unzip: parallel extraction unavailable, falling back", e);
             }
-            long time = 0;
+        }
+        return unzipSequential();
+    }
+
+    private boolean unzipSequential() throws IOException {
+        ExtractPipeline extractPipeline = getExtractMode() == EXTRACT_MODE_PIPELINED ? new ExtractPipeline(StorageProbe.getChunkSize(), ExtractPipeline.DEFAULT_DEPTH) : null;
+        ExtractJournal extractJournalOpenJournal = openJournal(this._location, new File(this._zipFile).getName(), "seq:" + fileKey(this._zipFile));
+        ZipProgress zipProgressCurrent = ZipProgress.current();
+        byte[] bArrAcquire = BufferPool.acquire(StorageProbe.getChunkSize());
+        boolean z = false;
+        try {
+            ZipInputStream zipInputStream = new ZipInputStream(new FileInputStream(this._zipFile));
+            this._dirs = new DirectoryCache();
+            _dirChecker("");
+            int i = 0;
             while (true) {
                 ZipEntry nextEntry = zipInputStream.getNextEntry();
                 if (nextEntry != null) {
-                    long size = nextEntry.getSize();
                     if (nextEntry.isDirectory()) {
                         Log.v("Decompress", "Unzipping " + nextEntry.getName());
                         _dirChecker(nextEntry.getName());
-                        i = 0;
+                    } else if (extractJournalOpenJournal != null && extractJournalOpenJournal.isCommitted(i)) {
+                        zipProgressCurrent.advance(nextEntry.getSize());
                     } else {
-                        FileOutputStream fileOutputStream = new FileOutputStream(this._location + File.separator + nextEntry.getName());
-                        byte[] bArr = new byte[1048576];
-                        i = 0;
-                        while (true) {
-                            int i2 = zipInputStream.read(bArr);
-                            if (i2 <= 0) {
-                                break;
-                            }
-                            fileOutputStream.write(bArr, 0, i2);
-                            i += i2;
-                            long time2 = new Date().getTime();
-                            if (time2 - time >= 1000) {
-                                JNILibrary.callbackZipProgress(i, size);
-                                time = time2;
-                            }
-                        }
+                        File file = new File(this._location + File.separator + nextEntry.getName());
+                        this._dirs.ensureParent(file);
+                        copyEntry(zipInputStream, file, nextEntry.getSize(), i, bArrAcquire, extractPipeline, extractJournalOpenJournal, zipProgressCurrent, this._dirs);
                         zipInputStream.closeEntry();
-                        fileOutputStream.close();
                     }
-                    JNILibrary.callbackZipProgress(i, size);
-                    time = new Date().getTime();
+                    i++;
                 } else {
                     zipInputStream.close();
+                    if (extractPipeline != null) {
+                        extractPipeline.finish();
+                    }
+                    z = true;
                     return true;
                 }
             }
         } catch (Exception e) {
             Log.e("Decompress", "unzip", e);
             return false;
+        } finally {
+            if (extractPipeline != null) {
+                extractPipeline.close();
+            }
+            BufferPool.release(bArrAcquire);
+            closeJournal(extractJournalOpenJournal, z);
         }
     }
 
-    private void _dirChecker(String str) {
-        File file = new File(this._location + File.separator + str);
-        if (file.isDirectory()) {
-            return;
+    private static long copyEntry(ZipInputStream zipInputStream, File file, long j, final int i, byte[] bArr, ExtractPipeline extractPipeline, final ExtractJournal extractJournal, ZipProgress zipProgress, DirectoryCache directoryCache) throws IOException {
+        final File filePartFile = extractJournal != null ? ExtractJournal.partFile(file) : file;
+        final File file2 = file;
+        if (extractJournal == null && !directoryCache.isFresh(file.getParentFile())) {
+            file.delete();
+        }
+        long j2 = 0;
+        if (extractPipeline != null) {
+            extractPipeline.begin(filePartFile, j);
+            while (true) {
+                byte[] bArrAcquire = extractPipeline.acquire();
+                int i2 = StorageProbe.fill(zipInputStream, bArrAcquire);
+                if (i2 <= 0) {
+                    extractPipeline.recycle(bArrAcquire);
+                    break;
+                }
+                extractPipeline.submit(bArrAcquire, i2);
+                j2 += i2;
+                zipProgress.advance(i2);
+            }
+            extractPipeline.end(extractJournal == null ? null : new ExtractPipeline.Completion() { // from class: com.stoneage.light.Decompress.1
+                @Override // com.stoneage.light.ExtractPipeline.Completion
+                public void onWritten() throws IOException {
+                    extractJournal.commit(i, filePartFile, file2);
+                }
+            });
+            return j2;
+        }
+        FileOutputStream fileOutputStream = new FileOutputStream(filePartFile);
+        try {
+            boolean zPreallocate = StorageProbe.preallocate(fileOutputStream.getFD(), j);
+            while (true) {
+                int i3 = StorageProbe.fill(zipInputStream, bArr);
+                if (i3 <= 0) {
+                    break;
+                }
+                fileOutputStream.write(bArr, 0, i3);
+                j2 += i3;
+                zipProgress.advance(i3);
+            }
+            StorageProbe.finish(fileOutputStream, zPreallocate, j2, j);
+        } finally {
+            fileOutputStream.close();
+        }
+        if (extractJournal != null) {
+            extractJournal.commit(i, filePartFile, file2);
+        }
+        return j2;
+    }
+
+    static List<ZipArchive.Entry> listAsset(String str) throws IOException {
+        ZipIndex zipIndex = ZipIndex.get("asset:" + str, assetKey(str));
+        if (zipIndex != null) {
+            return zipIndex.getEntries();
+        }
+        ZipArchive zipArchiveOpenAsset = openAsset(str);
+        try {
+            return zipArchiveOpenAsset.getEntries();
+        } finally {
+            zipArchiveOpenAsset.close();
+        }
+    }
+
+    private static int countAsset(String str) {
+        try {
+            return listAsset(str).size();
+        } catch (IOException e) {
+            Log.w("Decompress", "countAsset " + str, e);
+            return -1;
         }
-        file.mkdirs();
+    }
+
+    static long measureAsset(String str) {
+        try {
+            return totalSize(listAsset(str));
+        } catch (IOException unused) {
+            return 0L;
+        }
+    }
+
+    private static boolean assetUsesCodecs(String str) {
+        try {
+            return ZipArchive.usesCodecs(listAsset(str));
+        } catch (IOException unused) {
+            return false;
+        }
+    }
+
+    private static boolean fileUsesCodecs(String str) {
+        try {
+            ZipArchive zipArchiveOpen = ZipArchive.open(new File(str));
+            try {
+                return zipArchiveOpen.hasCodecEntries();
+            } finally {
+                zipArchiveOpen.close();
+            }
+        } catch (IOException unused) {
+            return false;
+        }
+    }
+
+    static long measureFile(String str) {
+        try {
+            ZipArchive zipArchiveOpen = ZipArchive.open(new File(str));
+            try {
+                return totalSize(zipArchiveOpen.getEntries());
+            } finally {
+                zipArchiveOpen.close();
+            }
+        } catch (IOException unused) {
+            return 0L;
+        }
+    }
+
+    static long totalSize(List<ZipArchive.Entry> list) {
+        long j = 0;
+        for (ZipArchive.Entry entry : list) {
+            if (!entry.isDirectory()) {
+                j += entry.size;
+            }
+        }
+        return j;
+    }
+
+    private static ExtractJournal openJournal(String str, String str2, String str3) {
+        File file = new File(str);
+        if (!file.isDirectory()) {
+            file.mkdirs();
+        }
+        try {
+            return ExtractJournal.open(str, str2, str3);
+        } catch (IOException e) {
+            Log.w("Decompress", "openJournal: extracting without resume support", e);
+            return null;
+        }
+    }
+
+    private static boolean closeJournal(ExtractJournal extractJournal, boolean z) {
+        if (extractJournal != null) {
+            if (z) {
+                extractJournal.complete();
+            } else {
+                extractJournal.close();
+            }
+        }
+        return z;
+    }
+
+    private static String assetKey(String str) {
+        return str + ":" + fileKey(StoneageApplication.getAppContext().getApplicationInfo().sourceDir);
+    }
+
+    private static String fileKey(String str) {
+        File file = new File(str);
+        return file.getAbsolutePath() + ":" + file.length() + ":" + file.lastModified();
+    }
+
+    static ZipArchive openAsset(String str) throws IOException {
+        ZipArchive zipArchiveSpoolAsset;
+        String str2 = "asset:" + str;
+        String strAssetKey = assetKey(str);
+        ZipIndex zipIndex = ZipIndex.get(str2, strAssetKey);
+        try {
+            final AssetFileDescriptor assetFileDescriptorOpenFd = StoneageApplication.getAppContext().getAssets().openFd(str);
+            final FileInputStream fileInputStreamCreateInputStream = assetFileDescriptorOpenFd.createInputStream();
+            zipArchiveSpoolAsset = new ZipArchive(fileInputStreamCreateInputStream.getChannel(), assetFileDescriptorOpenFd.getStartOffset(), assetFileDescriptorOpenFd.getLength(), new Closeable() { // from class: com.stoneage.light.Decompress.2
+                @Override // java.io.Closeable, java.lang.AutoCloseable
+                public void close() throws IOException {
+                    fileInputStreamCreateInputStream.close();
+                    assetFileDescriptorOpenFd.close();
+                }
+            }, zipIndex);
+        } catch (FileNotFoundException unused) {
+            zipArchiveSpoolAsset = spoolAsset(str, zipIndex);
+        }
+        ZipIndex.remember(str2, strAssetKey, zipArchiveSpoolAsset);
+        return zipArchiveSpoolAsset;
+    }
+
+    private static ZipArchive spoolAsset(String str, ZipIndex zipIndex) throws IOException {
+        final File file = new File(StoneageApplication.getAppContext().getCacheDir(), str + ".spool");
+        InputStream inputStreamOpen = StoneageApplication.getAppContext().getAssets().open(str);
+        try {
+            FileOutputStream fileOutputStream = new FileOutputStream(file);
+            byte[] bArrAcquire = BufferPool.acquire(StorageProbe.getChunkSize());
+            try {
+                while (true) {
+                    int i = StorageProbe.fill(inputStreamOpen, bArrAcquire);
+                    if (i <= 0) {
+                        break;
+                    }
+                    fileOutputStream.write(bArrAcquire, 0, i);
+                }
+            } finally {
+                BufferPool.release(bArrAcquire);
+                fileOutputStream.close();
+            }
+        } finally {
+            inputStreamOpen.close();
+        }
+        final RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+        return new ZipArchive(randomAccessFile.getChannel(), 0L, randomAccessFile.length(), new Closeable() { // from class: com.stoneage.light.Decompress.3
+            @Override // java.io.Closeable, java.lang.AutoCloseable
+            public void close() throws IOException {
+                randomAccessFile.close();
+                file.delete();
+            }
+        }, zipIndex);
+    }
+
+    private void _dirChecker(String str) {
+        this._dirs.ensure(new File(this._location + File.separator + str));
     }
 
     public static boolean ProcessZip(int i, String str) {
         String str2 = AssetsReleaser.getStoragePath() + str;
+        cancelBackground(str2);
+        bootReady = false;
+        backgroundComplete = false;
+        try {
+            if (isStaged() && getInstallTarget() == INSTALL_TARGET_FILES) {
+                int iProcessZipStaged = ProcessZipStaged(i, str2);
+                if (iProcessZipStaged >= 0) {
+                    return iProcessZipStaged > 0;
+                }
+            }
+            if (getInstallTarget() == INSTALL_TARGET_PACK) {
+                int iProcessZipPack = ProcessZipPack(i, str2);
+                if (iProcessZipPack >= 0) {
+                    return installed(iProcessZipPack > 0);
+                }
+            }
+            PriorityManifest priorityManifestLoad = PriorityManifest.load(str2);
+            if (getInstallTarget() == INSTALL_TARGET_LAZY) {
+                int iProcessZipLazy = ProcessZipLazy(i, str2, priorityManifestLoad);
+                if (iProcessZipLazy >= 0) {
+                    return installed(iProcessZipLazy > 0);
+                }
+            }
+            if (priorityManifestLoad != null || isIncremental()) {
+                int iProcessZipIncremental = ProcessZipIncremental(i, str2, priorityManifestLoad, isIncremental());
+                if (iProcessZipIncremental >= 0) {
+                    if (iProcessZipIncremental == i && !bootReady) {
+                        installed(true);
+                    }
+                    return iProcessZipIncremental > 0;
+                }
+            }
+            if (bundledConsolidated(i)) {
+                try {
+                    Log.i("Decompress", "ProcessZip: installing from bundled " + PatchConsolidator.FILE_NAME);
+                    return installed(UnZipAssets(PatchConsolidator.FILE_NAME, str2, true));
+                } catch (IOException e) {
+                    Log.w("Decompress", "ProcessZip: bundled cumulative archive unusable, falling back", e);
+                }
+            }
+            String strConsolidatedPath = consolidatedPath(i);
+            if (strConsolidatedPath != null) {
+                try {
+                    Log.i("Decompress", "ProcessZip: installing from " + PatchConsolidator.FILE_NAME);
+                    return installed(new Decompress(strConsolidatedPath, str2).unzip());
+                } catch (IOException e) {
+                    Log.w("Decompress", "ProcessZip: cumulative archive unusable, falling back", e);
+                }
+            }
+            long jMeasureAsset = 0;
+            for (int i2 = 0; i2 < i; i2++) {
+                jMeasureAsset += measureAsset("patch_" + Integer.toString(i2) + ".zip");
+            }
+            ExtractJournal extractJournalOpenJournal = openJournal(str2, "patches", "chain:" + getExtractMode() + ":" + patchStamp(i));
+            ZipProgress zipProgressBegin = ZipProgress.begin(jMeasureAsset);
+            int i3 = 0;
+            try {
+                int i4 = 0;
+                for (int i5 = 0; i5 < i; i5++) {
+                    String str3 = "patch_" + Integer.toString(i5) + ".zip";
+                    int iCountAsset = countAsset(str3);
+                    if (iCountAsset < 0) {
+                        break;
+                    }
+                    if (extractJournalOpenJournal != null && extractJournalOpenJournal.isCommitted(i4)) {
+                        Log.i("Decompress", "ProcessZip: " + str3 + " already extracted");
+                        zipProgressBegin.advance(measureAsset(str3));
+                    } else {
+                        if (!UnZipAssets(str3, str2, true, false, extractJournalOpenJournal != null ? extractJournalOpenJournal.window(i4 + 1) : null, iCountAsset)) {
+                            break;
+                        }
+                        if (extractJournalOpenJournal != null) {
+                            try {
+                                extractJournalOpenJournal.mark(i4);
+                            } catch (IOException e2) {
+                                Log.w("Decompress", "ProcessZip: cannot record " + str3, e2);
+                            }
+                        }
+                    }
+                    i4 += (iCountAsset * 2) + 1;
+                    i3++;
+                }
+            } finally {
+                zipProgressBegin.end();
+                closeJournal(extractJournalOpenJournal, i3 == i);
+            }
+            if (i3 == i && isVerify() && VerifyZip(i, str) > 0) {
+                return installed(false);
+            }
+            if (i3 == i && i > 1 && isConsolidate()) {
+                ConsolidatePatches(i);
+            }
+            return installed(i3 > 0);
+        } finally {
+            logAllocations("ProcessZip");
+        }
+    }
+
+    private static boolean installed(boolean z) {
+        bootReady = z;
+        backgroundComplete = z;
+        return z;
+    }
+
+    static void logAllocations(String str) {
+        Log.i("Decompress", str + ": buffers acquired=" + BufferPool.getAcquireCount() + " allocated=" + BufferPool.getAllocationCount() + " (" + (BufferPool.getAllocatedBytes() >> 10) + " KB), inflaters acquired=" + InflaterPool.getAcquireCount() + " created=" + InflaterPool.getCreatedCount());
+    }
+
+    private static int ProcessZipIncremental(int i, String str, PriorityManifest priorityManifest, boolean z) {
+        ZipArchive[] zipArchiveArr = new ZipArchive[i];
+        boolean z2 = false;
+        try {
+            for (int i2 = 0; i2 < i; i2++) {
+                zipArchiveArr[i2] = openAsset("patch_" + Integer.toString(i2) + ".zip");
+            }
+            File file = new File(str);
+            if (!file.exists()) {
+                file.mkdirs();
+            }
+            PatchManifest patchManifestLoad = z ? PatchManifest.load(str) : null;
+            ArrayList<PatchPlan.Item> arrayList = new ArrayList<>();
+            int i2 = 0;
+            for (PatchPlan.Item item : new PatchPlan(zipArchiveArr).getItems()) {
+                File file2 = new File(str + File.separator + item.entry.name);
+                if (item.entry.isDirectory()) {
+                    if (!file2.isDirectory()) {
+                        arrayList.add(item);
+                    }
+                } else if (patchManifestLoad != null && patchManifestLoad.isUpToDate(item.entry, file2)) {
+                    i2++;
+                } else {
+                    if (patchManifestLoad != null) {
+                        patchManifestLoad.remove(item.entry.name);
+                    }
+                    arrayList.add(item);
+                }
+            }
+            List<List<PatchPlan.Item>> listPartition = PriorityManifest.partition(priorityManifest, arrayList);
+            Log.i("Decompress", "ProcessZip: " + arrayList.size() + " entries to apply (" + listPartition.get(PriorityManifest.TIER_CRITICAL).size() + " critical), " + i2 + " up to date");
+            int iDefaultWorkers = getExtractMode() == EXTRACT_MODE_PARALLEL ? ParallelDecompress.defaultWorkers() : 1;
+            int iApplyItems;
+            ZipProgress zipProgressBegin = ZipProgress.begin(itemsSize(listPartition.get(PriorityManifest.TIER_CRITICAL)));
+            try {
+                iApplyItems = applyItems(zipArchiveArr, listPartition.get(PriorityManifest.TIER_CRITICAL), str, iDefaultWorkers, patchManifestLoad, null);
+            } finally {
+                zipProgressBegin.end();
+            }
+            if (iApplyItems < i) {
+                saveManifest(patchManifestLoad);
+                return iApplyItems;
+            }
+            if (listPartition.get(PriorityManifest.TIER_NORMAL).isEmpty() && listPartition.get(PriorityManifest.TIER_DEFERRED).isEmpty()) {
+                saveManifest(patchManifestLoad);
+                if (isVerify() && !verifyInstall(zipArchiveArr, str)) {
+                    return 0;
+                }
+                return i;
+            }
+            bootReady = true;
+            Log.i("Decompress", "ProcessZip: ready to boot");
+            startBackground(zipArchiveArr, listPartition, str, iDefaultWorkers, patchManifestLoad);
+            z2 = true;
+            return i;
+        } catch (IOException e2) {
+            Log.w("Decompress", "ProcessZip: incremental apply unavailable, falling back", e2);
+            return -1;
+        } finally {
+            if (!z2) {
+                closeArchives(zipArchiveArr);
+            }
+        }
+    }
+
+    private static int applyItems(ZipArchive[] zipArchiveArr, List<PatchPlan.Item> list, String str, int i, PatchManifest patchManifest, AtomicBoolean atomicBoolean) {
+        ContentStore contentStore = new ContentStore(zipArchiveArr, list);
         int i2 = 0;
-        for (int i3 = 0; i3 < i; i3++) {
-            if (!UnZipAssets("patch_" + Integer.toString(i3) + ".zip", str2, true)) {
-                break;
+        while (i2 < zipArchiveArr.length) {
+            List<ZipArchive.Entry> listEntriesOf = PatchPlan.entriesOf(contentStore.getUnique(), i2);
+            if (!listEntriesOf.isEmpty()) {
+                String str2 = "patch_" + Integer.toString(i2) + ".zip";
+                ParallelDecompress parallelDecompress = new ParallelDecompress(zipArchiveArr[i2], str, i);
+                parallelDecompress.setCancel(atomicBoolean);
+                ExtractJournal extractJournalOpenJournal = openJournal(str, str2, "cd:" + assetKey(str2));
+                parallelDecompress.setJournal(extractJournalOpenJournal);
+                if (!closeJournal(extractJournalOpenJournal, parallelDecompress.extract(listEntriesOf, true))) {
+                    break;
+                }
+            }
+            if (patchManifest != null) {
+                for (ZipArchive.Entry entry : listEntriesOf) {
+                    if (!entry.isDirectory()) {
+                        patchManifest.put(new PatchManifest.Record(entry.name, entry.size, entry.crc, i2));
+                    }
+                }
             }
             i2++;
         }
-        return i2 > 0;
+        if (i2 < zipArchiveArr.length || contentStore.getAliases().isEmpty()) {
+            return i2;
+        }
+        try {
+            contentStore.link(str);
+        } catch (IOException e) {
+            Log.e("Decompress", "applyItems: linking duplicates failed", e);
+            return 0;
+        }
+        ZipProgress zipProgressCurrent = ZipProgress.current();
+        if (zipProgressCurrent != null) {
+            zipProgressCurrent.advance(contentStore.getAliasBytes());
+        }
+        if (patchManifest != null) {
+            for (ContentStore.Alias alias : contentStore.getAliases()) {
+                patchManifest.put(new PatchManifest.Record(alias.item.entry.name, alias.item.entry.size, alias.item.entry.crc, alias.item.patch));
+            }
+        }
+        return i2;
+    }
+
+    private static void startBackground(final ZipArchive[] zipArchiveArr, final List<List<PatchPlan.Item>> list, final String str, final int i, final PatchManifest patchManifest) {
+        final AtomicBoolean atomicBoolean = new AtomicBoolean(false);
+        Thread thread = new Thread(new Runnable() { // from class: com.stoneage.light.Decompress.4
+            @Override // java.lang.Runnable
+            public void run() {
+                boolean z = false;
+                ZipProgress zipProgressBegin = ZipProgress.beginBackground(Decompress.itemsSize(list.get(PriorityManifest.TIER_NORMAL)) + Decompress.itemsSize(list.get(PriorityManifest.TIER_DEFERRED)));
+                try {
+                    if (Decompress.applyItems(zipArchiveArr, list.get(PriorityManifest.TIER_NORMAL), str, i, patchManifest, atomicBoolean) == zipArchiveArr.length) {
+                        if (Decompress.applyItems(zipArchiveArr, list.get(PriorityManifest.TIER_DEFERRED), str, 1, patchManifest, atomicBoolean) == zipArchiveArr.length) {
+                            z = !Decompress.isVerify() || Decompress.verifyInstall(zipArchiveArr, str);
+                        }
+                    }
+                } finally {
+                    zipProgressBegin.end();
+                    Decompress.saveManifest(patchManifest);
+                    Decompress.closeArchives(zipArchiveArr);
+                    Decompress.logAllocations("ProcessZip background");
+                }
+                Decompress.backgroundComplete = z;
+                Log.i("Decompress", "ProcessZip: background extraction " + (z ? "complete" : atomicBoolean.get() ? "cancelled" : "incomplete"));
+            }
+        }, "Decompress-Background");
+        thread.setPriority(4);
+        tierCancel = atomicBoolean;
+        tierLocation = str;
+        tierThread = thread;
+        thread.start();
+    }
+
+    public static boolean isBootReady() {
+        return bootReady;
+    }
+
+    public static boolean isBackgroundComplete() {
+        return backgroundComplete;
+    }
+
+    public static void awaitBackground() {
+        join(tierThread);
+        join(stageThread);
+    }
+
+    private static void cancelBackground(String str) {
+        Thread thread = tierThread;
+        if (thread == null || !thread.isAlive() || !str.equals(tierLocation)) {
+            return;
+        }
+        Log.i("Decompress", "ProcessZip: cancelling background extraction into " + str);
+        tierCancel.set(true);
+        join(thread);
+    }
+
+    private static boolean isRunning(Thread thread) {
+        return thread != null && thread.isAlive();
+    }
+
+    private static void join(Thread thread) {
+        if (thread == null) {
+            return;
+        }
+        try {
+            thread.join();
+        } catch (InterruptedException unused) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public static int VerifyZip(int i, String str) {
+        ZipArchive[] zipArchiveArr = new ZipArchive[i];
+        try {
+            for (int i2 = 0; i2 < i; i2++) {
+                zipArchiveArr[i2] = openAsset("patch_" + Integer.toString(i2) + ".zip");
+            }
+            String str2 = AssetsReleaser.getStoragePath() + str;
+            List<PatchPlan.Item> listVerify = new ExtractVerifier(str2).verify(new PatchPlan(zipArchiveArr).getItems());
+            if (!listVerify.isEmpty()) {
+                listVerify = ExtractVerifier.repair(zipArchiveArr, listVerify, str2);
+            }
+            return listVerify.size();
+        } catch (IOException e) {
+            Log.w("Decompress", "VerifyZip", e);
+            return -1;
+        } finally {
+            closeArchives(zipArchiveArr);
+        }
+    }
+
+    static boolean verifyInstall(ZipArchive[] zipArchiveArr, String str) {
+        return verifyInstall(zipArchiveArr, str, null);
+    }
+
+    static boolean verifyInstall(ZipArchive[] zipArchiveArr, String str, Set<String> set) {
+        List<PatchPlan.Item> items = new PatchPlan(zipArchiveArr).getItems();
+        if (set != null && !set.isEmpty()) {
+            ArrayList<PatchPlan.Item> arrayList = new ArrayList<>(items.size());
+            for (PatchPlan.Item item : items) {
+                if (!set.contains(item.entry.name)) {
+                    arrayList.add(item);
+                }
+            }
+            Log.i("Decompress", "verify: skipping " + set.size() + " entries kept by the caller");
+            items = arrayList;
+        }
+        List<PatchPlan.Item> listVerify = new ExtractVerifier(str).verify(items);
+        if (listVerify.isEmpty()) {
+            return true;
+        }
+        List<PatchPlan.Item> listRepair = ExtractVerifier.repair(zipArchiveArr, listVerify, str);
+        if (!listRepair.isEmpty()) {
+            Log.e("Decompress", "verify: " + listRepair.size() + " entries still corrupt after repair, first " + listRepair.get(0).entry.name);
+        }
+        return listRepair.isEmpty();
+    }
+
+    static long itemsSize(List<PatchPlan.Item> list) {
+        long j = 0;
+        for (PatchPlan.Item item : list) {
+            if (!item.entry.isDirectory()) {
+                j += item.entry.size;
+            }
+        }
+        return j;
+    }
+
+    static void saveManifest(PatchManifest patchManifest) {
+        if (patchManifest != null) {
+            patchManifest.save();
+        }
+    }
+
+    static void closeArchives(ZipArchive[] zipArchiveArr) {
+        for (ZipArchive zipArchive : zipArchiveArr) {
+            if (zipArchive != null) {
+                try {
+                    zipArchive.close();
+                } catch (IOException unused) {
+                }
+            }
+        }
+    }
+
+    private static int ProcessZipStaged(final int i, String str) {
+        final AssetGenerations assetGenerations = new AssetGenerations(str);
+        assetGenerations.activatePending();
+        String strPatchStamp = patchStamp(i);
+        String active = assetGenerations.getActive();
+        if (active == null) {
+            if (!assetGenerations.adopt()) {
+                return -1;
+            }
+            String path = assetGenerations.getPath(AssetGenerations.GEN_A);
+            int iProcessZipIncremental = ProcessZipIncremental(i, path, null, true);
+            if (iProcessZipIncremental < i) {
+                return iProcessZipIncremental;
+            }
+            try {
+                AssetGenerations.writeStamp(path, strPatchStamp);
+                assetGenerations.activate(AssetGenerations.GEN_A);
+                bootReady = true;
+                backgroundComplete = true;
+                return i;
+            } catch (IOException e) {
+                Log.w("Decompress", "ProcessZip: cannot activate first generation", e);
+                return -1;
+            }
+        }
+        if (!assetGenerations.link(active)) {
+            return -1;
+        }
+        bootReady = true;
+        if (strPatchStamp.equals(AssetGenerations.readStamp(assetGenerations.getPath(active)))) {
+            backgroundComplete = true;
+            return i;
+        }
+        final String inactive = assetGenerations.getInactive();
+        if (inactive.equals(assetGenerations.getPending()) && strPatchStamp.equals(AssetGenerations.readStamp(assetGenerations.getPath(inactive)))) {
+            backgroundComplete = true;
+            return i;
+        }
+        if (isRunning(stageThread)) {
+            Log.i("Decompress", "ProcessZip: generation " + inactive + " is already being staged");
+            return i;
+        }
+        assetGenerations.clearPending();
+        final String path2 = assetGenerations.getPath(active);
+        final String path3 = assetGenerations.getPath(inactive);
+        final String str2 = strPatchStamp;
+        Thread thread = new Thread(new Runnable() { // from class: com.stoneage.light.Decompress.5
+            @Override // java.lang.Runnable
+            public void run() {
+                ZipProgress zipProgressBeginBackground = ZipProgress.beginBackground(0L);
+                try {
+                    File file = new File(path3);
+                    AssetGenerations.delete(file);
+                    Log.i("Decompress", "ProcessZip: staging generation " + inactive + ", cloned " + AssetGenerations.clone(new File(path2), file) + " files");
+                    if (Decompress.ProcessZipIncremental(i, path3, null, true) < i) {
+                        Log.w("Decompress", "ProcessZip: staging generation " + inactive + " failed");
+                        return;
+                    }
+                    AssetGenerations.writeStamp(path3, str2);
+                    assetGenerations.setPending(inactive);
+                    Decompress.backgroundComplete = true;
+                    Log.i("Decompress", "ProcessZip: generation " + inactive + " ready, switching on next launch");
+                } catch (IOException e2) {
+                    Log.w("Decompress", "ProcessZip: staging failed", e2);
+                } finally {
+                    zipProgressBeginBackground.end();
+                }
+            }
+        }, "Decompress-Stage");
+        thread.setPriority(4);
+        stageThread = thread;
+        thread.start();
+        return i;
+    }
+
+    private static boolean bundledConsolidated(int i) {
+        if (i <= 1) {
+            return false;
+        }
+        try {
+            ZipArchive zipArchiveOpenAsset = openAsset(PatchConsolidator.FILE_NAME);
+            try {
+                if (patchStamp(i).equals(zipArchiveOpenAsset.getComment())) {
+                    return true;
+                }
+                Log.i("Decompress", "ProcessZip: bundled " + PatchConsolidator.FILE_NAME + " does not match the patch chain");
+                return false;
+            } finally {
+                zipArchiveOpenAsset.close();
+            }
+        } catch (FileNotFoundException e) {
+            return false;
+        } catch (IOException e2) {
+            Log.w("Decompress", "ProcessZip: bundled " + PatchConsolidator.FILE_NAME + " unreadable", e2);
+            return false;
+        }
+    }
+
+    private static String consolidatedPath(int i) {
+        File file = new File(AssetsReleaser.getStoragePath() + "/" + PatchConsolidator.FILE_NAME);
+        if (i <= 1 || !file.isFile()) {
+            return null;
+        }
+        try {
+            ZipArchive zipArchiveOpen = ZipArchive.open(file);
+            try {
+                if (patchStamp(i).equals(zipArchiveOpen.getComment())) {
+                    return file.getPath();
+                }
+                Log.i("Decompress", "ProcessZip: " + PatchConsolidator.FILE_NAME + " is stale");
+                return null;
+            } finally {
+                zipArchiveOpen.close();
+            }
+        } catch (IOException e) {
+            Log.w("Decompress", "ProcessZip: " + PatchConsolidator.FILE_NAME + " unreadable", e);
+            file.delete();
+            ZipIndex.invalidate(file.getAbsolutePath());
+            return null;
+        }
+    }
+
+    public static void ConsolidatePatches(final int i) {
+        if (isRunning(consolidateThread) || bundledConsolidated(i) || consolidatedPath(i) != null) {
+            return;
+        }
+        Thread thread = new Thread(new Runnable() { // from class: com.stoneage.light.Decompress.6
+            @Override // java.lang.Runnable
+            public void run() {
+                ZipArchive[] zipArchiveArr = new ZipArchive[i];
+                try {
+                    for (int i2 = 0; i2 < i; i2++) {
+                        zipArchiveArr[i2] = Decompress.openAsset("patch_" + Integer.toString(i2) + ".zip");
+                    }
+                    long jElapsedRealtime = SystemClock.elapsedRealtime();
+                    int iConsolidate = PatchConsolidator.consolidate(zipArchiveArr, new File(AssetsReleaser.getStoragePath() + "/" + PatchConsolidator.FILE_NAME), PatchConsolidator.stamp(zipArchiveArr));
+                    Log.i("Decompress", "ConsolidatePatches: merged " + i + " patches into " + iConsolidate + " entries in " + (SystemClock.elapsedRealtime() - jElapsedRealtime) + " ms");
+                } catch (IOException e) {
+                    Log.w("Decompress", "ConsolidatePatches failed", e);
+                } finally {
+                    Decompress.closeArchives(zipArchiveArr);
+                }
+            }
+        }, "Decompress-Consolidate");
+        thread.setPriority(1);
+        consolidateThread = thread;
+        thread.start();
+    }
+
+    private static String patchStamp(int i) {
+        ZipArchive[] zipArchiveArr = new ZipArchive[i];
+        try {
+            for (int i2 = 0; i2 < i; i2++) {
+                zipArchiveArr[i2] = openAsset("patch_" + Integer.toString(i2) + ".zip");
+            }
+            return PatchConsolidator.stamp(zipArchiveArr);
+        } catch (IOException e) {
+            Log.w("Decompress", "patchStamp", e);
+            StringBuilder sb = new StringBuilder();
+            for (int i3 = 0; i3 < i; i3++) {
+                sb.append(assetKey("patch_" + Integer.toString(i3) + ".zip")).append(';');
+            }
+            return sb.toString();
+        } finally {
+            closeArchives(zipArchiveArr);
+        }
+    }
+
+    private static int ProcessZipLazy(int i, String str, PriorityManifest priorityManifest) {
+        ZipArchive[] zipArchiveArr = new ZipArchive[i];
+        boolean z = false;
+        try {
+            for (int i2 = 0; i2 < i; i2++) {
+                zipArchiveArr[i2] = openAsset("patch_" + Integer.toString(i2) + ".zip");
+            }
+            File file = new File(str);
+            if (!file.exists()) {
+                file.mkdirs();
+            }
+            if (priorityManifest != null) {
+                PatchManifest patchManifestLoad = PatchManifest.load(str);
+                ArrayList<PatchPlan.Item> arrayList = new ArrayList<>();
+                for (PatchPlan.Item item : new PatchPlan(zipArchiveArr).getItems()) {
+                    if (!item.entry.isDirectory() && priorityManifest.tierOf(item.entry.name) == PriorityManifest.TIER_CRITICAL && !patchManifestLoad.isUpToDate(item.entry, new File(str + File.separator + item.entry.name))) {
+                        arrayList.add(item);
+                    }
+                }
+                int iApplyItems;
+                ZipProgress zipProgressBegin = ZipProgress.begin(itemsSize(arrayList));
+                try {
+                    iApplyItems = applyItems(zipArchiveArr, arrayList, str, getExtractMode() == EXTRACT_MODE_PARALLEL ? ParallelDecompress.defaultWorkers() : 1, patchManifestLoad, null);
+                } finally {
+                    zipProgressBegin.end();
+                }
+                patchManifestLoad.save();
+                if (iApplyItems < i) {
+                    return iApplyItems;
+                }
+            }
+            LazyAssetService.install(new LazyAssetService(zipArchiveArr, str));
+            z = true;
+            Log.i("Decompress", "ProcessZip: serving remaining entries on demand");
+            return i;
+        } catch (IOException e) {
+            Log.w("Decompress", "ProcessZip: lazy install unavailable, falling back", e);
+            return -1;
+        } finally {
+            if (!z) {
+                closeArchives(zipArchiveArr);
+            }
+        }
+    }
+
+    private static boolean serveLazily(String str, String str2) {
+        try {
+            ZipArchive zipArchiveOpen = ZipArchive.open(new File(str));
+            synchronized (LazyAssetService.class) {
+                LazyAssetService lazyAssetServiceCurrent = LazyAssetService.current();
+                if (lazyAssetServiceCurrent == null || !lazyAssetServiceCurrent.getLocation().equals(str2)) {
+                    LazyAssetService.install(new LazyAssetService(new ZipArchive[]{zipArchiveOpen}, str2));
+                } else {
+                    lazyAssetServiceCurrent.addArchive(zipArchiveOpen);
+                }
+            }
+            Log.i("Decompress", "UnZipFile: serving " + str + " on demand");
+            return true;
+        } catch (IOException e) {
+            Log.w("Decompress", "UnZipFile: lazy install unavailable, falling back", e);
+            return false;
+        }
+    }
+
+    private static int ProcessZipPack(int i, String str) {
+        ZipArchive[] zipArchiveArr = new ZipArchive[i];
+        AssetPackWriter assetPackWriter = null;
+        try {
+            for (int i2 = 0; i2 < i; i2++) {
+                zipArchiveArr[i2] = openAsset("patch_" + Integer.toString(i2) + ".zip");
+            }
+            File file = new File(str);
+            if (!file.exists()) {
+                file.mkdirs();
+            }
+            File file2 = new File(str, AssetPack.FILE_NAME);
+            String strStamp = PatchConsolidator.stamp(zipArchiveArr);
+            if (strStamp.equals(AssetPack.readStamp(file2))) {
+                Log.i("Decompress", "ProcessZip: " + AssetPack.FILE_NAME + " is up to date");
+                return i;
+            }
+            List<PatchPlan.Item> items = new PatchPlan(zipArchiveArr).getItems();
+            long j = itemsSize(items);
+            ContentStore contentStore = new ContentStore(zipArchiveArr, items);
+            assetPackWriter = new AssetPackWriter(file2);
+            assetPackWriter.setStamp(strStamp);
+            assetPackWriter.preallocate(j - contentStore.getAliasBytes());
+            int iDefaultWorkers = getExtractMode() == EXTRACT_MODE_PARALLEL ? ParallelDecompress.defaultWorkers() : 1;
+            ZipProgress zipProgressBegin = ZipProgress.begin(j);
+            try {
+                for (int i3 = 0; i3 < i; i3++) {
+                    ParallelDecompress parallelDecompress = new ParallelDecompress(zipArchiveArr[i3], str, iDefaultWorkers);
+                    parallelDecompress.setPack(assetPackWriter);
+                    if (!parallelDecompress.extract(PatchPlan.entriesOf(contentStore.getUnique(), i3), true)) {
+                        return 0;
+                    }
+                }
+                contentStore.alias(assetPackWriter);
+                zipProgressBegin.advance(contentStore.getAliasBytes());
+                assetPackWriter.commit();
+                Log.i("Decompress", "ProcessZip: packed " + assetPackWriter.size() + " entries into " + AssetPack.FILE_NAME);
+                return i;
+            } finally {
+                zipProgressBegin.end();
+            }
+        } catch (IOException e) {
+            Log.w("Decompress", "ProcessZip: pack install unavailable, falling back", e);
+            return -1;
+        } finally {
+            if (assetPackWriter != null) {
+                try {
+                    assetPackWriter.close();
+                } catch (IOException unused) {
+                }
+            }
+            closeArchives(zipArchiveArr);
+        }
     }
 
     public static boolean UnZipFile(String str, String str2) {
+        if (getInstallTarget() == INSTALL_TARGET_LAZY && serveLazily(AssetsReleaser.getStoragePath() + "/" + str, AssetsReleaser.getStoragePath() + str2)) {
+            return true;
+        }
         return new Decompress(AssetsReleaser.getStoragePath() + "/" + str, AssetsReleaser.getStoragePath() + str2).unzip();
     }
 }
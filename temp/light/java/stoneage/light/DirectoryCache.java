@@ -0,0 +1,66 @@
+package com.stoneage.light;
+
+import java.io.File;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/* loaded from: classes.dex */
+public class DirectoryCache {
+    private final ConcurrentHashMap<String, Boolean> dirs = new ConcurrentHashMap<>();
+
+    public boolean ensure(File file) {
+        String path = file.getPath();
+        if (this.dirs.containsKey(path)) {
+            return true;
+        }
+        boolean zMkdir = file.mkdir();
+        if (!zMkdir && !file.isDirectory()) {
+            File parentFile = file.getParentFile();
+            if (parentFile == null || !ensure(parentFile)) {
+                return false;
+            }
+            zMkdir = file.mkdir();
+            if (!zMkdir && !file.isDirectory()) {
+                return false;
+            }
+        }
+        this.dirs.putIfAbsent(path, Boolean.valueOf(zMkdir));
+        return true;
+    }
+
+    public boolean ensureParent(File file) {
+        File parentFile = file.getParentFile();
+        return parentFile == null || ensure(parentFile);
+    }
+
+    public boolean isFresh(File file) {
+        return file != null && Boolean.TRUE.equals(this.dirs.get(file.getPath()));
+    }
+
+    public int plan(String str, List<ZipArchive.Entry> list) {
+        TreeSet<String> treeSet = new TreeSet<>();
+        treeSet.add(new File(str).getPath());
+        for (ZipArchive.Entry entry : list) {
+            File file = new File(str + File.separator + entry.name);
+            if (!entry.isDirectory()) {
+                file = file.getParentFile();
+            }
+            if (file != null) {
+                treeSet.add(file.getPath());
+            }
+        }
+        int i = 0;
+        for (String str2 : treeSet) {
+            File file2 = new File(str2);
+            if (ensure(file2) && isFresh(file2)) {
+                i++;
+            }
+        }
+        return i;
+    }
+
+    public int size() {
+        return this.dirs.size();
+    }
+}
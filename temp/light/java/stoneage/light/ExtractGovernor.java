@@ -0,0 +1,127 @@
+package com.stoneage.light;
+
+import android.content.Context;
+import android.os.Build;
+import android.os.PowerManager;
+import android.os.SystemClock;
+import android.util.Log;
+
+/* loaded from: classes.dex */
+public class ExtractGovernor {
+    private static final int BATTERY_CRITICAL = 15;
+    private static final int BATTERY_LOW = 30;
+    private static final int HOLD_SAMPLES = 8;
+    private static final float MIN_GAIN = 1.1f;
+    public static final long SAMPLE_MILLIS = 250;
+    private static final String TAG = "ExtractGovernor";
+    private float baseline;
+    private int ceiling;
+    private int hold;
+    private long lastBytes;
+    private long lastTime = SystemClock.elapsedRealtime();
+    private final int max;
+    private boolean probing;
+    private int workers;
+
+    public ExtractGovernor(int i) {
+        this.max = Math.max(1, i);
+        this.ceiling = limit(this.max);
+        this.workers = Math.min(2, this.ceiling);
+    }
+
+    public synchronized int getWorkers() {
+        return this.workers;
+    }
+
+    public synchronized int sample(long j) {
+        long jElapsedRealtime = SystemClock.elapsedRealtime();
+        long j2 = jElapsedRealtime - this.lastTime;
+        if (j2 < SAMPLE_MILLIS) {
+            return this.workers;
+        }
+        float f = ((j - this.lastBytes) * 1000.0f) / j2;
+        this.lastBytes = j;
+        this.lastTime = jElapsedRealtime;
+        int iLimit = limit(this.max);
+        if (iLimit != this.ceiling) {
+            Log.i(TAG, "worker ceiling " + this.ceiling + " -> " + iLimit);
+            this.ceiling = iLimit;
+        }
+        if (this.workers > iLimit) {
+            this.workers = iLimit;
+            this.probing = false;
+            this.hold = HOLD_SAMPLES;
+            return this.workers;
+        }
+        if (this.probing) {
+            this.probing = false;
+            if (f >= this.baseline * MIN_GAIN) {
+                this.baseline = f;
+                if (this.workers < iLimit) {
+                    this.workers++;
+                    this.probing = true;
+                }
+            } else {
+                this.workers--;
+                this.hold = HOLD_SAMPLES;
+                Log.i(TAG, "no gain from worker " + (this.workers + 1) + " (" + ((long) f >> 10) + " KB/s), backing off to " + this.workers);
+            }
+            return this.workers;
+        }
+        int i = this.hold;
+        if (i > 0) {
+            this.hold = i - 1;
+            return this.workers;
+        }
+        if (this.workers < iLimit) {
+            this.baseline = f;
+            this.workers++;
+            this.probing = true;
+        }
+        return this.workers;
+    }
+
+    public static int limit(int i) {
+        int iMax = Math.max(1, i);
+        int thermalStatus = getThermalStatus();
+        if (thermalStatus >= 3) {
+            return 1;
+        }
+        if (thermalStatus == 2) {
+            iMax = Math.max(1, iMax / 2);
+        } else if (thermalStatus == 1) {
+            iMax = Math.max(1, iMax - 1);
+        }
+        if (StatusTools.checkIsReCharging() == 0) {
+            int currentBattery = StatusTools.getCurrentBattery();
+            if (currentBattery > 0 && currentBattery <= BATTERY_CRITICAL) {
+                return 1;
+            }
+            if ((currentBattery > 0 && currentBattery <= BATTERY_LOW) || isPowerSaveMode()) {
+                iMax = Math.max(1, iMax / 2);
+            }
+        }
+        return iMax;
+    }
+
+    private static PowerManager getPowerManager() {
+        Context appContext = StoneageApplication.getAppContext();
+        if (appContext == null) {
+            return null;
+        }
+        return (PowerManager) appContext.getSystemService("power");
+    }
+
+    private static int getThermalStatus() {
+        PowerManager powerManager;
+        if (Build.VERSION.SDK_INT < 29 || (powerManager = getPowerManager()) == null) {
+            return 0;
+        }
+        return powerManager.getCurrentThermalStatus();
+    }
+
+    private static boolean isPowerSaveMode() {
+        PowerManager powerManager = getPowerManager();
+        return powerManager != null && powerManager.isPowerSaveMode();
+    }
+}
@@ -0,0 +1,265 @@
+package com.stoneage.light;
+
+import android.os.SystemClock;
+import android.system.ErrnoException;
+import android.system.Os;
+import android.system.OsConstants;
+import android.util.Log;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.BitSet;
+import java.util.HashSet;
+
+/* loaded from: classes.dex */
+public class ExtractJournal {
+    private static final int BATCH_ENTRIES = 64;
+    private static final long BATCH_MILLIS = 500;
+    private static final String TAG = "ExtractJournal";
+    private static volatile boolean directorySyncUnsupported;
+    private final BitSet committed = new BitSet();
+    private final int base;
+    private final File file;
+    private final String key;
+    private long lastFlush;
+    private FileOutputStream out;
+    private long validLength;
+    private int[] pending = new int[BATCH_ENTRIES];
+    private int pendingCount;
+    private File[] pendingFiles = new File[BATCH_ENTRIES];
+    private final ExtractJournal owner;
+
+    private ExtractJournal(File file, String str) {
+        this.file = file;
+        this.key = str;
+        this.owner = this;
+        this.base = 0;
+    }
+
+    private ExtractJournal(ExtractJournal extractJournal, int i) {
+        this.file = extractJournal.file;
+        this.key = extractJournal.key;
+        this.owner = extractJournal;
+        this.base = i;
+    }
+
+    public static ExtractJournal open(String str, String str2, String str3) throws IOException {
+        ExtractJournal extractJournal = new ExtractJournal(new File(str, ".journal_" + str2.replace('/', '_')), str3);
+        boolean zLoad = extractJournal.load();
+        if (zLoad) {
+            RandomAccessFile randomAccessFile = new RandomAccessFile(extractJournal.file, "rw");
+            try {
+                randomAccessFile.setLength(extractJournal.validLength);
+            } finally {
+                randomAccessFile.close();
+            }
+        }
+        extractJournal.out = new FileOutputStream(extractJournal.file, zLoad);
+        if (!zLoad) {
+            DataOutputStream dataOutputStream = new DataOutputStream(extractJournal.out);
+            dataOutputStream.writeUTF(str3);
+            dataOutputStream.flush();
+            extractJournal.out.getFD().sync();
+        } else {
+            Log.i(TAG, "resuming " + str2 + " with " + extractJournal.committed.cardinality() + " entries already extracted");
+        }
+        extractJournal.lastFlush = SystemClock.elapsedRealtime();
+        return extractJournal;
+    }
+
+    public static File partFile(File file) {
+        return new File(file.getPath() + ".part");
+    }
+
+    public ExtractJournal window(int i) {
+        return new ExtractJournal(this.owner, this.base + i);
+    }
+
+    public boolean isCommitted(int i) {
+        boolean z;
+        ExtractJournal extractJournal = this.owner;
+        synchronized (extractJournal) {
+            z = extractJournal.committed.get(this.base + i);
+        }
+        return z;
+    }
+
+    public int getCommittedCount() {
+        int iCardinality;
+        ExtractJournal extractJournal = this.owner;
+        synchronized (extractJournal) {
+            iCardinality = extractJournal.committed.cardinality();
+        }
+        return iCardinality;
+    }
+
+    public void commit(int i, File file, File file2) throws IOException {
+        if (!file.renameTo(file2)) {
+            throw new IOException("rename failed: " + file2.getPath());
+        }
+        this.owner.markOwned(this.base + i, file2);
+    }
+
+    public void mark(int i) throws IOException {
+        this.owner.markOwned(this.base + i, null);
+    }
+
+    private synchronized void markOwned(int i, File file) throws IOException {
+        this.committed.set(i);
+        this.pending[this.pendingCount] = i;
+        this.pendingFiles[this.pendingCount] = file;
+        this.pendingCount++;
+        if (this.pendingCount >= BATCH_ENTRIES || SystemClock.elapsedRealtime() - this.lastFlush >= BATCH_MILLIS) {
+            flush();
+        }
+    }
+
+    public synchronized void flush() throws IOException {
+        if (this.owner != this) {
+            this.owner.flush();
+            return;
+        }
+        if (this.pendingCount == 0 || this.out == null) {
+            return;
+        }
+        syncPending();
+        byte[] bArr = new byte[this.pendingCount * 4];
+        for (int i = 0; i < this.pendingCount; i++) {
+            int i2 = this.pending[i];
+            int i3 = i * 4;
+            bArr[i3] = (byte) (i2 >>> 24);
+            bArr[i3 + 1] = (byte) (i2 >>> 16);
+            bArr[i3 + 2] = (byte) (i2 >>> 8);
+            bArr[i3 + 3] = (byte) i2;
+        }
+        this.out.write(bArr);
+        this.out.getFD().sync();
+        clearPending();
+        this.lastFlush = SystemClock.elapsedRealtime();
+    }
+
+    private void syncPending() throws IOException {
+        HashSet<String> hashSet = new HashSet<>();
+        for (int i = 0; i < this.pendingCount; i++) {
+            File file = this.pendingFiles[i];
+            if (file != null) {
+                RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+                try {
+                    randomAccessFile.getFD().sync();
+                    randomAccessFile.close();
+                    String parent = file.getParent();
+                    if (parent != null) {
+                        hashSet.add(parent);
+                    }
+                } catch (Throwable th) {
+                    randomAccessFile.close();
+                    throw th;
+                }
+            }
+        }
+        for (String str : hashSet) {
+            syncDirectory(str);
+        }
+    }
+
+    private static void syncDirectory(String str) {
+        if (directorySyncUnsupported) {
+            return;
+        }
+        try {
+            FileDescriptor fileDescriptorOpen = Os.open(str, OsConstants.O_RDONLY, 0);
+            try {
+                Os.fsync(fileDescriptorOpen);
+            } finally {
+                Os.close(fileDescriptorOpen);
+            }
+        } catch (ErrnoException e) {
+            directorySyncUnsupported = true;
+            Log.i(TAG, "directory fsync unavailable (errno " + e.errno + "), relying on file fsync only");
+        }
+    }
+
+    private void clearPending() {
+        for (int i = 0; i < this.pendingCount; i++) {
+            this.pendingFiles[i] = null;
+        }
+        this.pendingCount = 0;
+    }
+
+    public synchronized void close() {
+        if (this.owner != this) {
+            try {
+                this.owner.flush();
+            } catch (IOException e) {
+                Log.w(TAG, "close", e);
+            }
+            return;
+        }
+        if (this.out == null) {
+            return;
+        }
+        try {
+            flush();
+            this.out.close();
+        } catch (IOException e) {
+            Log.w(TAG, "close", e);
+        }
+        this.out = null;
+    }
+
+    public synchronized void complete() {
+        if (this.owner != this) {
+            return;
+        }
+        if (this.out != null) {
+            try {
+                this.out.close();
+            } catch (IOException unused) {
+            }
+            this.out = null;
+        }
+        try {
+            syncPending();
+        } catch (IOException e) {
+            Log.w(TAG, "complete", e);
+        }
+        clearPending();
+        this.file.delete();
+    }
+
+    private boolean load() {
+        try {
+            DataInputStream dataInputStream = new DataInputStream(new BufferedInputStream(new FileInputStream(this.file)));
+            try {
+                if (!this.key.equals(dataInputStream.readUTF())) {
+                    return false;
+                }
+                this.validLength = this.key.getBytes("UTF-8").length + 2;
+                while (true) {
+                    try {
+                        this.committed.set(dataInputStream.readInt());
+                        this.validLength += 4;
+                    } catch (EOFException unused) {
+                        return true;
+                    }
+                }
+            } finally {
+                dataInputStream.close();
+            }
+        } catch (FileNotFoundException unused2) {
+            return false;
+        } catch (IOException e) {
+            Log.w(TAG, "load", e);
+            this.committed.clear();
+            return false;
+        }
+    }
+}
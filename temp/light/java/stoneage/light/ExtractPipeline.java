@@ -0,0 +1,224 @@
+package com.stoneage.light;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/* loaded from: classes.dex */
+public class ExtractPipeline implements Closeable {
+    private static final int CHUNK_CLOSE = 2;
+    private static final int CHUNK_DATA = 1;
+    private static final int CHUNK_OPEN = 0;
+    private static final int CHUNK_STOP = 3;
+    public static final int DEFAULT_BUFFER_SIZE = 262144;
+    public static final int DEFAULT_DEPTH = 8;
+    private final BlockingQueue<byte[]> freeBuffers;
+    private final BlockingQueue<Chunk> pending;
+    private volatile IOException writeError;
+    private final Thread writer;
+
+    public interface Completion {
+        void onWritten() throws IOException;
+    }
+
+    private static class Chunk {
+        final Completion completion;
+        final byte[] data;
+        final File file;
+        final int kind;
+        final int length;
+        final long size;
+
+        Chunk(int i, File file, byte[] bArr, int i2, long j, Completion completion) {
+            this.kind = i;
+            this.file = file;
+            this.data = bArr;
+            this.length = i2;
+            this.size = j;
+            this.completion = completion;
+        }
+    }
+
+    public ExtractPipeline() {
+        this(DEFAULT_BUFFER_SIZE, DEFAULT_DEPTH);
+    }
+
+    public ExtractPipeline(int i, int i2) {
+        this.freeBuffers = new ArrayBlockingQueue<>(i2);
+        this.pending = new ArrayBlockingQueue<>(i2 + 2);
+        for (int i3 = 0; i3 < i2; i3++) {
+            this.freeBuffers.add(BufferPool.acquire(i));
+        }
+        Thread thread = new Thread(new Runnable() { // from class: com.stoneage.light.ExtractPipeline.1
+            @Override // java.lang.Runnable
+            public void run() {
+                ExtractPipeline.this.drain();
+            }
+        }, "Decompress-Writer");
+        this.writer = thread;
+        thread.start();
+    }
+
+    public void begin(File file) throws IOException {
+        begin(file, -1L);
+    }
+
+    public void begin(File file, long j) throws IOException {
+        put(new Chunk(CHUNK_OPEN, file, null, 0, j, null));
+    }
+
+    public byte[] acquire() throws IOException {
+        checkError();
+        try {
+            return this.freeBuffers.take();
+        } catch (InterruptedException unused) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("pipeline interrupted");
+        }
+    }
+
+    public void recycle(byte[] bArr) {
+        this.freeBuffers.offer(bArr);
+    }
+
+    public void submit(byte[] bArr, int i) throws IOException {
+        put(new Chunk(CHUNK_DATA, null, bArr, i, 0L, null));
+    }
+
+    public void end() throws IOException {
+        end(null);
+    }
+
+    public void end(Completion completion) throws IOException {
+        put(new Chunk(CHUNK_CLOSE, null, null, 0, 0L, completion));
+    }
+
+    public void finish() throws IOException {
+        put(new Chunk(CHUNK_STOP, null, null, 0, 0L, null));
+        try {
+            this.writer.join();
+            checkError();
+        } catch (InterruptedException unused) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("pipeline interrupted");
+        }
+    }
+
+    @Override // java.io.Closeable, java.lang.AutoCloseable
+    public void close() {
+        if (this.writer.isAlive()) {
+            this.writer.interrupt();
+            boolean z = false;
+            while (true) {
+                try {
+                    this.writer.join();
+                    break;
+                } catch (InterruptedException unused) {
+                    z = true;
+                }
+            }
+            if (z) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        while (true) {
+            Chunk chunkPoll = this.pending.poll();
+            if (chunkPoll == null) {
+                break;
+            }
+            if (chunkPoll.data != null) {
+                BufferPool.release(chunkPoll.data);
+            }
+        }
+        while (true) {
+            byte[] bArrPoll = this.freeBuffers.poll();
+            if (bArrPoll == null) {
+                return;
+            }
+            BufferPool.release(bArrPoll);
+        }
+    }
+
+    private void put(Chunk chunk) throws IOException {
+        checkError();
+        try {
+            this.pending.put(chunk);
+        } catch (InterruptedException unused) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("pipeline interrupted");
+        }
+    }
+
+    private void checkError() throws IOException {
+        IOException iOException = this.writeError;
+        if (iOException != null) {
+            throw iOException;
+        }
+    }
+
+    /* JADX INFO: Access modifiers changed from: private */
+    public void drain() {
+        FileOutputStream fileOutputStream = null;
+        long j = 0;
+        long j2 = 0;
+        boolean zPreallocate = false;
+        while (true) {
+            try {
+                Chunk chunkTake = this.pending.take();
+                int i = chunkTake.kind;
+                if (i == CHUNK_STOP) {
+                    break;
+                }
+                if (this.writeError != null) {
+                    if (chunkTake.data != null) {
+                        recycle(chunkTake.data);
+                    }
+                } else {
+                    try {
+                        if (i == CHUNK_OPEN) {
+                            fileOutputStream = new FileOutputStream(chunkTake.file);
+                            j = chunkTake.size;
+                            j2 = 0;
+                            zPreallocate = StorageProbe.preallocate(fileOutputStream.getFD(), j);
+                        } else if (i == CHUNK_DATA) {
+                            fileOutputStream.write(chunkTake.data, 0, chunkTake.length);
+                            j2 += chunkTake.length;
+                            recycle(chunkTake.data);
+                        } else if (i == CHUNK_CLOSE) {
+                            FileOutputStream fileOutputStream2 = fileOutputStream;
+                            fileOutputStream = null;
+                            try {
+                                StorageProbe.finish(fileOutputStream2, zPreallocate, j2, j);
+                            } finally {
+                                fileOutputStream2.close();
+                            }
+                            if (chunkTake.completion != null) {
+                                chunkTake.completion.onWritten();
+                            }
+                        }
+                    } catch (IOException e) {
+                        this.writeError = e;
+                        if (chunkTake.data != null) {
+                            recycle(chunkTake.data);
+                        }
+                    }
+                }
+            } catch (InterruptedException unused) {
+                if (this.writeError == null) {
+                    this.writeError = new InterruptedIOException("pipeline aborted");
+                }
+                break;
+            }
+        }
+        if (fileOutputStream != null) {
+            try {
+                fileOutputStream.close();
+            } catch (IOException unused2) {
+            }
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.stoneage.light;
+
+import android.os.Build;
+import android.os.SystemClock;
+import android.util.Log;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+/* loaded from: classes.dex */
+public class ExtractVerifier {
+    private static final long MAP_WINDOW = 67108864;
+    private static final String TAG = "ExtractVerifier";
+    private final String _location;
+    private final int _workers;
+
+    public ExtractVerifier(String str) {
+        this(str, ParallelDecompress.defaultWorkers());
+    }
+
+    public ExtractVerifier(String str, int i) {
+        this._location = str;
+        this._workers = Math.max(1, i);
+    }
+
+    public List<PatchPlan.Item> verify(final List<PatchPlan.Item> list) {
+        final List<PatchPlan.Item> listSynchronizedList = Collections.synchronizedList(new ArrayList<PatchPlan.Item>());
+        final AtomicInteger atomicInteger = new AtomicInteger(0);
+        final AtomicLong atomicLong = new AtomicLong(0L);
+        long jElapsedRealtime = SystemClock.elapsedRealtime();
+        int iMin = Math.min(this._workers, Math.max(1, list.size()));
+        ExecutorService executorServiceNewFixedThreadPool = Executors.newFixedThreadPool(iMin, new ThreadFactory() { // from class: com.stoneage.light.ExtractVerifier.1
+            private int count = 0;
+
+            @Override // java.util.concurrent.ThreadFactory
+            public synchronized Thread newThread(Runnable runnable) {
+                StringBuilder sb = new StringBuilder("Verify-");
+                int i = this.count;
+                this.count = i + 1;
+                Thread thread = new Thread(runnable, sb.append(i).toString());
+                thread.setPriority(4);
+                return thread;
+            }
+        });
+        ArrayList<Future<Void>> arrayList = new ArrayList<>(iMin);
+        for (int i = 0; i < iMin; i++) {
+            arrayList.add(executorServiceNewFixedThreadPool.submit(new Callable<Void>() { // from class: com.stoneage.light.ExtractVerifier.2
+                @Override // java.util.concurrent.Callable
+                public Void call() {
+                    byte[] bArrAcquire = BufferPool.acquire(BufferPool.LARGE);
+                    try {
+                        while (true) {
+                            int andIncrement = atomicInteger.getAndIncrement();
+                            if (andIncrement >= list.size()) {
+                                return null;
+                            }
+                            PatchPlan.Item item = list.get(andIncrement);
+                            if (!item.entry.isDirectory()) {
+                                if (ExtractVerifier.this.check(item.entry, bArrAcquire)) {
+                                    atomicLong.addAndGet(item.entry.size);
+                                } else {
+                                    listSynchronizedList.add(item);
+                                }
+                            }
+                        }
+                    } finally {
+                        BufferPool.release(bArrAcquire);
+                    }
+                }
+            }));
+        }
+        executorServiceNewFixedThreadPool.shutdown();
+        for (int i2 = 0; i2 < arrayList.size(); i2++) {
+            try {
+                arrayList.get(i2).get();
+            } catch (InterruptedException unused) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                Log.e(TAG, "verify", e.getCause());
+            }
+        }
+        long jElapsedRealtime2 = SystemClock.elapsedRealtime() - jElapsedRealtime;
+        Log.i(TAG, "verified " + (atomicLong.get() >> 20) + " MB in " + jElapsedRealtime2 + " ms with " + iMin + " threads, " + listSynchronizedList.size() + " bad entries");
+        return new ArrayList<>(listSynchronizedList);
+    }
+
+    public boolean check(ZipArchive.Entry entry, byte[] bArr) {
+        File file = new File(this._location + File.separator + entry.name);
+        if (file.length() != entry.size || !file.isFile()) {
+            return false;
+        }
+        try {
+            return crc(file, entry.size, bArr) == entry.crc;
+        } catch (IOException e) {
+            Log.w(TAG, "check " + entry.name, e);
+            return false;
+        }
+    }
+
+    static long crc(File file, long j, byte[] bArr) throws IOException {
+        CRC32 crc32 = new CRC32();
+        FileInputStream fileInputStream = new FileInputStream(file);
+        try {
+            FileChannel channel = fileInputStream.getChannel();
+            if (Build.VERSION.SDK_INT >= 26) {
+                long j2 = 0;
+                while (j2 < j) {
+                    MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, j2, Math.min(MAP_WINDOW, j - j2));
+                    j2 += map.remaining();
+                    crc32.update(map);
+                }
+            } else {
+                ByteBuffer byteBufferWrap = ByteBuffer.wrap(bArr);
+                while (true) {
+                    byteBufferWrap.clear();
+                    int i = channel.read(byteBufferWrap);
+                    if (i <= 0) {
+                        break;
+                    }
+                    crc32.update(bArr, 0, i);
+                }
+            }
+            return crc32.getValue();
+        } finally {
+            fileInputStream.close();
+        }
+    }
+
+    public static List<PatchPlan.Item> repair(ZipArchive[] zipArchiveArr, List<PatchPlan.Item> list, String str) {
+        int iDefaultWorkers = ParallelDecompress.defaultWorkers();
+        for (int i = 0; i < zipArchiveArr.length; i++) {
+            List<ZipArchive.Entry> listEntriesOf = PatchPlan.entriesOf(list, i);
+            if (!listEntriesOf.isEmpty()) {
+                Log.w(TAG, "repairing " + listEntriesOf.size() + " entries from archive " + i);
+                new ParallelDecompress(zipArchiveArr[i], str, iDefaultWorkers).extract(listEntriesOf, true);
+            }
+        }
+        return new ExtractVerifier(str, iDefaultWorkers).verify(list);
+    }
+}
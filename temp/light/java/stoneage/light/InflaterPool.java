@@ -0,0 +1,55 @@
+package com.stoneage.light;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.Inflater;
+
+/* loaded from: classes.dex */
+public class InflaterPool {
+    private static final int MAX_POOLED = 16;
+    private static final AtomicLong acquired = new AtomicLong();
+    private static final AtomicLong created = new AtomicLong();
+    private static final ArrayDeque<Inflater> pool = new ArrayDeque<>();
+
+    public static Inflater acquire() {
+        acquired.incrementAndGet();
+        synchronized (pool) {
+            Inflater inflaterPoll = pool.poll();
+            if (inflaterPoll != null) {
+                return inflaterPoll;
+            }
+            created.incrementAndGet();
+            return new Inflater(true);
+        }
+    }
+
+    public static void release(Inflater inflater) {
+        if (inflater == null) {
+            return;
+        }
+        inflater.reset();
+        synchronized (pool) {
+            if (pool.size() < MAX_POOLED) {
+                pool.push(inflater);
+                return;
+            }
+        }
+        inflater.end();
+    }
+
+    public static void trim() {
+        synchronized (pool) {
+            while (!pool.isEmpty()) {
+                pool.pop().end();
+            }
+        }
+    }
+
+    public static long getAcquireCount() {
+        return acquired.get();
+    }
+
+    public static long getCreatedCount() {
+        return created.get();
+    }
+}
@@ -0,0 +1,242 @@
+package com.stoneage.light;
+
+import android.os.SystemClock;
+import android.util.Log;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+/* loaded from: classes.dex */
+public class LazyAssetService {
+    private static final long SAVE_INTERVAL = 2000;
+    private static final String TAG = "LazyAssetService";
+    private static volatile LazyAssetService current;
+    private boolean closed;
+    private final DirectoryCache dirs = new DirectoryCache();
+    private final ConcurrentHashMap<String, FutureTask<File>> inFlight = new ConcurrentHashMap<>();
+    private long lastSave;
+    private final String location;
+    private final PatchManifest manifest;
+    private volatile Snapshot snapshot;
+    private int users;
+
+    static class Snapshot {
+        final ZipArchive[] archives;
+        final PatchPlan plan;
+
+        Snapshot(ZipArchive[] zipArchiveArr) {
+            this.archives = zipArchiveArr;
+            this.plan = new PatchPlan(zipArchiveArr);
+        }
+    }
+
+    public LazyAssetService(ZipArchive[] zipArchiveArr, String str) {
+        this.snapshot = new Snapshot(zipArchiveArr);
+        this.location = str;
+        this.manifest = PatchManifest.load(str);
+        this.lastSave = SystemClock.elapsedRealtime();
+    }
+
+    public static synchronized void install(LazyAssetService lazyAssetService) {
+        LazyAssetService lazyAssetService2 = current;
+        current = lazyAssetService;
+        if (lazyAssetService2 == null || lazyAssetService2 == lazyAssetService) {
+            return;
+        }
+        lazyAssetService2.close();
+    }
+
+    public static LazyAssetService current() {
+        return current;
+    }
+
+    public static boolean isAvailable() {
+        return current != null;
+    }
+
+    public static String requestAsset(String str) {
+        LazyAssetService lazyAssetService = current;
+        while (lazyAssetService != null) {
+            try {
+                File file = lazyAssetService.materialize(str);
+                if (file != null) {
+                    return file.getAbsolutePath();
+                }
+            } catch (IOException e) {
+                Log.w(TAG, "requestAsset " + str, e);
+                return null;
+            }
+            LazyAssetService lazyAssetService2 = current;
+            if (lazyAssetService2 == lazyAssetService) {
+                return null;
+            }
+            lazyAssetService = lazyAssetService2;
+        }
+        return null;
+    }
+
+    public PatchPlan getPlan() {
+        return this.snapshot.plan;
+    }
+
+    public String getLocation() {
+        return this.location;
+    }
+
+    public synchronized void addArchive(ZipArchive zipArchive) {
+        ZipArchive[] zipArchiveArr = this.snapshot.archives;
+        ZipArchive[] zipArchiveArr2 = Arrays.copyOf(zipArchiveArr, zipArchiveArr.length + 1);
+        zipArchiveArr2[zipArchiveArr.length] = zipArchive;
+        this.snapshot = new Snapshot(zipArchiveArr2);
+    }
+
+    public File materialize(String str) throws IOException {
+        if (!retain()) {
+            return null;
+        }
+        try {
+            return materialize(this.snapshot, str);
+        } finally {
+            release();
+        }
+    }
+
+    private File materialize(final Snapshot snapshot, String str) throws IOException {
+        final PatchPlan.Item item = snapshot.plan.get(str);
+        if (item == null || item.entry.isDirectory()) {
+            return null;
+        }
+        final File file = new File(this.location + File.separator + str);
+        if (isUpToDate(item.entry, file)) {
+            return file;
+        }
+        FutureTask<File> futureTask = new FutureTask<>(new Callable<File>() { // from class: com.stoneage.light.LazyAssetService.1
+            @Override // java.util.concurrent.Callable
+            public File call() throws IOException {
+                if (!LazyAssetService.this.isUpToDate(item.entry, file)) {
+                    LazyAssetService.this.extract(snapshot.archives[item.patch], item, file);
+                }
+                return file;
+            }
+        });
+        FutureTask<File> futureTaskPutIfAbsent = this.inFlight.putIfAbsent(str, futureTask);
+        if (futureTaskPutIfAbsent == null) {
+            try {
+                futureTask.run();
+            } finally {
+                this.inFlight.remove(str, futureTask);
+            }
+        } else {
+            futureTask = futureTaskPutIfAbsent;
+        }
+        try {
+            return futureTask.get();
+        } catch (InterruptedException unused) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted waiting for " + str);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw ((IOException) cause);
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    /* JADX INFO: Access modifiers changed from: private */
+    public boolean isUpToDate(ZipArchive.Entry entry, File file) {
+        boolean zIsUpToDate;
+        synchronized (this.manifest) {
+            zIsUpToDate = this.manifest.isUpToDate(entry, file);
+        }
+        return zIsUpToDate;
+    }
+
+    /* JADX INFO: Access modifiers changed from: private */
+    public void extract(ZipArchive zipArchive, PatchPlan.Item item, File file) throws IOException {
+        ZipArchive.Entry entry = item.entry;
+        this.dirs.ensureParent(file);
+        File filePartFile = ExtractJournal.partFile(file);
+        FileOutputStream fileOutputStream = new FileOutputStream(filePartFile);
+        try {
+            StorageProbe.preallocate(fileOutputStream.getFD(), entry.size);
+            byte[] bArrAcquire = BufferPool.acquire(BufferPool.SMALL);
+            InputStream inputStream = zipArchive.getInputStream(entry);
+            try {
+                while (true) {
+                    int i = inputStream.read(bArrAcquire);
+                    if (i <= 0) {
+                        break;
+                    }
+                    fileOutputStream.write(bArrAcquire, 0, i);
+                }
+            } finally {
+                inputStream.close();
+                BufferPool.release(bArrAcquire);
+            }
+            fileOutputStream.close();
+            if (!filePartFile.renameTo(file)) {
+                throw new IOException("rename failed: " + file.getPath());
+            }
+        } catch (IOException e) {
+            fileOutputStream.close();
+            filePartFile.delete();
+            throw e;
+        }
+        synchronized (this.manifest) {
+            this.manifest.put(new PatchManifest.Record(entry.name, entry.size, entry.crc, item.patch));
+            long jElapsedRealtime = SystemClock.elapsedRealtime();
+            if (jElapsedRealtime - this.lastSave >= SAVE_INTERVAL) {
+                this.lastSave = jElapsedRealtime;
+                this.manifest.save();
+            }
+        }
+    }
+
+    private synchronized boolean retain() {
+        if (this.closed) {
+            return false;
+        }
+        this.users++;
+        return true;
+    }
+
+    private void release() {
+        boolean z;
+        synchronized (this) {
+            int i = this.users - 1;
+            this.users = i;
+            z = this.closed && i == 0;
+        }
+        if (z) {
+            closeArchives();
+        }
+    }
+
+    public void close() {
+        synchronized (this) {
+            if (this.closed) {
+                return;
+            }
+            this.closed = true;
+            if (this.users > 0) {
+                Log.i(TAG, "close: waiting for " + this.users + " requests in flight");
+                return;
+            }
+        }
+        closeArchives();
+    }
+
+    private void closeArchives() {
+        synchronized (this.manifest) {
+            this.manifest.save();
+        }
+        Decompress.closeArchives(this.snapshot.archives);
+    }
+}
@@ -0,0 +1,392 @@
+package com.stoneage.light;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.zip.ZipException;
+
+/* loaded from: classes.dex */
+public class Lz4Codec implements ZipCodec {
+    private static final int BLOCK_SIZE = 65536;
+    private static final int HASH_LOG = 12;
+    private static final int LAST_LITERALS = 5;
+    private static final int MAGIC = 407708164;
+    private static final int MAX_DISTANCE = 65535;
+    private static final int MF_LIMIT = 12;
+    private static final int MIN_MATCH = 4;
+    private static final int PRIME1 = -1640531535;
+    private static final int PRIME2 = -2048144777;
+    private static final int PRIME3 = -1028477379;
+    private static final int PRIME4 = 668265263;
+    private static final int PRIME5 = 374761393;
+    private static final int WINDOW = 65536;
+
+    @Override // com.stoneage.light.ZipCodec
+    public InputStream open(InputStream inputStream, ZipArchive.Entry entry) {
+        return new FrameInputStream(inputStream);
+    }
+
+    @Override // com.stoneage.light.ZipCodec
+    public long encode(InputStream inputStream, OutputStream outputStream) throws IOException {
+        byte[] bArrAcquire = BufferPool.acquire(BLOCK_SIZE);
+        byte[] bArr = new byte[BLOCK_SIZE + (BLOCK_SIZE / 255) + 20];
+        int[] iArr = new int[1 << HASH_LOG];
+        try {
+            byte[] bArr2 = {4, 34, 77, 24, 96, 64, 0};
+            bArr2[6] = (byte) headerChecksum(bArr2, 4, 2);
+            outputStream.write(bArr2);
+            long length = bArr2.length;
+            while (true) {
+                int iFill = StorageProbe.fill(inputStream, bArrAcquire);
+                if (iFill <= 0) {
+                    break;
+                }
+                int iCompressBlock = compressBlock(bArrAcquire, iFill, bArr, 4, iArr);
+                if (iCompressBlock < iFill) {
+                    writeIntLE(bArr, 0, iCompressBlock);
+                    outputStream.write(bArr, 0, iCompressBlock + 4);
+                    length += iCompressBlock + 4;
+                } else {
+                    writeIntLE(bArr, 0, Integer.MIN_VALUE | iFill);
+                    outputStream.write(bArr, 0, 4);
+                    outputStream.write(bArrAcquire, 0, iFill);
+                    length += iFill + 4;
+                }
+            }
+            writeIntLE(bArr, 0, 0);
+            outputStream.write(bArr, 0, 4);
+            return length + 4;
+        } finally {
+            BufferPool.release(bArrAcquire);
+        }
+    }
+
+    static int compressBlock(byte[] bArr, int i, byte[] bArr2, int i2, int[] iArr) {
+        Arrays.fill(iArr, -1);
+        int i3 = 0;
+        int i4 = 0;
+        int i5 = i2;
+        if (i > MF_LIMIT) {
+            int i6 = i - MF_LIMIT;
+            int i7 = i - LAST_LITERALS;
+            while (i4 < i6) {
+                int intLE = readIntLE(bArr, i4);
+                int i8 = (intLE * PRIME1) >>> (32 - HASH_LOG);
+                int i9 = iArr[i8];
+                iArr[i8] = i4;
+                if (i9 < 0 || i4 - i9 > MAX_DISTANCE || readIntLE(bArr, i9) != intLE) {
+                    i4 += ((i4 - i3) >>> 6) + 1;
+                } else {
+                    while (i4 > i3 && i9 > 0 && bArr[i4 - 1] == bArr[i9 - 1]) {
+                        i4--;
+                        i9--;
+                    }
+                    int i10 = MIN_MATCH;
+                    while (i4 + i10 < i7 && bArr[i4 + i10] == bArr[i9 + i10]) {
+                        i10++;
+                    }
+                    i5 = writeSequence(bArr, i3, i4 - i3, bArr2, i5, i4 - i9, i10);
+                    i4 += i10;
+                    i3 = i4;
+                }
+            }
+        }
+        return writeSequence(bArr, i3, i - i3, bArr2, i5, 0, 0) - i2;
+    }
+
+    private static int writeSequence(byte[] bArr, int i, int i2, byte[] bArr2, int i3, int i4, int i5) {
+        int i6;
+        int i7 = i3 + 1;
+        if (i2 >= 15) {
+            i6 = 240;
+            i7 = writeLength(bArr2, i7, i2 - 15);
+        } else {
+            i6 = i2 << 4;
+        }
+        System.arraycopy(bArr, i, bArr2, i7, i2);
+        int i8 = i7 + i2;
+        if (i5 > 0) {
+            int i9 = i8 + 1;
+            bArr2[i8] = (byte) i4;
+            i8 = i9 + 1;
+            bArr2[i9] = (byte) (i4 >>> 8);
+            int i10 = i5 - MIN_MATCH;
+            if (i10 >= 15) {
+                i6 |= 15;
+                i8 = writeLength(bArr2, i8, i10 - 15);
+            } else {
+                i6 |= i10;
+            }
+        }
+        bArr2[i3] = (byte) i6;
+        return i8;
+    }
+
+    private static int writeLength(byte[] bArr, int i, int i2) {
+        while (i2 >= 255) {
+            bArr[i] = -1;
+            i2 -= 255;
+            i++;
+        }
+        bArr[i] = (byte) i2;
+        return i + 1;
+    }
+
+    static int decompress(byte[] bArr, int i, byte[] bArr2, int i2, int i3, int i4) throws ZipException {
+        int i5;
+        int i6 = 0;
+        int i7 = i2;
+        while (i6 < i) {
+            int i8 = i6 + 1;
+            int i9 = bArr[i6] & 255;
+            int i10 = i9 >>> 4;
+            if (i10 == 15) {
+                do {
+                    if (i8 >= i) {
+                        throw new ZipException("corrupt lz4 block");
+                    }
+                    i5 = bArr[i8] & 255;
+                    i10 += i5;
+                    i8++;
+                } while (i5 == 255);
+            }
+            if (i10 > i - i8 || i10 > i3 - i7) {
+                throw new ZipException("corrupt lz4 block");
+            }
+            System.arraycopy(bArr, i8, bArr2, i7, i10);
+            int i11 = i8 + i10;
+            i7 += i10;
+            if (i11 == i) {
+                return i7 - i2;
+            }
+            if (i11 + 2 > i) {
+                throw new ZipException("corrupt lz4 block");
+            }
+            int i12 = (bArr[i11] & 255) | ((bArr[i11 + 1] & 255) << 8);
+            i6 = i11 + 2;
+            int i13 = i7 - i12;
+            if (i12 == 0 || i13 < i4) {
+                throw new ZipException("lz4 match offset out of range");
+            }
+            int i14 = i9 & 15;
+            if (i14 == 15) {
+                do {
+                    if (i6 >= i) {
+                        throw new ZipException("corrupt lz4 block");
+                    }
+                    i5 = bArr[i6] & 255;
+                    i14 += i5;
+                    i6++;
+                } while (i5 == 255);
+            }
+            int i15 = i14 + MIN_MATCH;
+            if (i15 > i3 - i7) {
+                throw new ZipException("corrupt lz4 block");
+            }
+            if (i12 >= i15) {
+                System.arraycopy(bArr2, i13, bArr2, i7, i15);
+            } else {
+                for (int i16 = 0; i16 < i15; i16++) {
+                    bArr2[i7 + i16] = bArr2[i13 + i16];
+                }
+            }
+            i7 += i15;
+        }
+        throw new ZipException("corrupt lz4 block");
+    }
+
+    static int headerChecksum(byte[] bArr, int i, int i2) {
+        int i3 = i + i2;
+        int iRotateLeft = PRIME5 + i2;
+        while (i + 4 <= i3) {
+            iRotateLeft = Integer.rotateLeft(iRotateLeft + (readIntLE(bArr, i) * PRIME3), 17) * PRIME4;
+            i += 4;
+        }
+        while (i < i3) {
+            iRotateLeft = Integer.rotateLeft(iRotateLeft + ((bArr[i] & 255) * PRIME5), 11) * PRIME1;
+            i++;
+        }
+        int i4 = (iRotateLeft ^ (iRotateLeft >>> 15)) * PRIME2;
+        int i5 = (i4 ^ (i4 >>> 13)) * PRIME3;
+        return ((i5 ^ (i5 >>> 16)) >>> 8) & 255;
+    }
+
+    static int readIntLE(byte[] bArr, int i) {
+        return (bArr[i] & 255) | ((bArr[i + 1] & 255) << 8) | ((bArr[i + 2] & 255) << 16) | ((bArr[i + 3] & 255) << 24);
+    }
+
+    static void writeIntLE(byte[] bArr, int i, int i2) {
+        bArr[i] = (byte) i2;
+        bArr[i + 1] = (byte) (i2 >>> 8);
+        bArr[i + 2] = (byte) (i2 >>> 16);
+        bArr[i + 3] = (byte) (i2 >>> 24);
+    }
+
+    static class FrameInputStream extends InputStream {
+        private boolean blockChecksum;
+        private int blockMax;
+        private boolean contentChecksum;
+        private byte[] dst;
+        private int dstEnd;
+        private final byte[] header = new byte[16];
+        private final InputStream in;
+        private boolean inFrame;
+        private boolean independent;
+        private int limit;
+        private int position;
+        private byte[] src;
+
+        FrameInputStream(InputStream inputStream) {
+            this.in = inputStream;
+        }
+
+        @Override // java.io.InputStream
+        public int read() throws IOException {
+            byte[] bArr = new byte[1];
+            if (read(bArr, 0, 1) <= 0) {
+                return -1;
+            }
+            return bArr[0] & 255;
+        }
+
+        @Override // java.io.InputStream
+        public int read(byte[] bArr, int i, int i2) throws IOException {
+            if (i2 == 0) {
+                return 0;
+            }
+            while (this.position >= this.limit) {
+                if (!nextBlock()) {
+                    return -1;
+                }
+            }
+            int iMin = Math.min(i2, this.limit - this.position);
+            System.arraycopy(this.dst, this.position, bArr, i, iMin);
+            this.position += iMin;
+            return iMin;
+        }
+
+        private boolean nextBlock() throws IOException {
+            if (!this.inFrame && !readFrameHeader()) {
+                return false;
+            }
+            readFully(this.header, 0, 4);
+            int intLE = Lz4Codec.readIntLE(this.header, 0);
+            if (intLE == 0) {
+                if (this.contentChecksum) {
+                    readFully(this.header, 0, 4);
+                }
+                this.inFrame = false;
+                return true;
+            }
+            int i = Integer.MAX_VALUE & intLE;
+            if (i > this.blockMax) {
+                throw new ZipException("lz4 block exceeds frame block size");
+            }
+            int i2 = 0;
+            if (!this.independent) {
+                if (this.dstEnd + this.blockMax > this.dst.length) {
+                    System.arraycopy(this.dst, this.dstEnd - Lz4Codec.WINDOW, this.dst, 0, Lz4Codec.WINDOW);
+                    this.dstEnd = Lz4Codec.WINDOW;
+                }
+                i2 = this.dstEnd;
+            }
+            readFully(this.src, 0, i);
+            int iDecompress;
+            if (intLE < 0) {
+                System.arraycopy(this.src, 0, this.dst, i2, i);
+                iDecompress = i;
+            } else {
+                iDecompress = Lz4Codec.decompress(this.src, i, this.dst, i2, i2 + this.blockMax, this.independent ? i2 : 0);
+            }
+            if (this.blockChecksum) {
+                readFully(this.header, 0, 4);
+            }
+            this.position = i2;
+            int i3 = i2 + iDecompress;
+            this.limit = i3;
+            this.dstEnd = i3;
+            return true;
+        }
+
+        private boolean readFrameHeader() throws IOException {
+            while (true) {
+                int i = this.in.read();
+                if (i < 0) {
+                    return false;
+                }
+                this.header[0] = (byte) i;
+                readFully(this.header, 1, 3);
+                int intLE = Lz4Codec.readIntLE(this.header, 0);
+                if ((intLE & (-16)) == 407710288) {
+                    readFully(this.header, 0, 4);
+                    long intLE2 = Lz4Codec.readIntLE(this.header, 0) & 4294967295L;
+                    while (intLE2 > 0) {
+                        int iMin = (int) Math.min(intLE2, this.header.length);
+                        readFully(this.header, 0, iMin);
+                        intLE2 -= iMin;
+                    }
+                } else {
+                    if (intLE != Lz4Codec.MAGIC) {
+                        throw new ZipException("not an lz4 frame");
+                    }
+                    readFully(this.header, 0, 2);
+                    int i2 = this.header[0] & 255;
+                    int i3 = ((this.header[1] & 255) >> 4) & 7;
+                    if ((i2 >> 6) != 1 || (i2 & 1) != 0 || i3 < 4) {
+                        throw new ZipException("unsupported lz4 frame flags " + Integer.toHexString(i2));
+                    }
+                    int i4 = (i2 & 8) != 0 ? 10 : 2;
+                    readFully(this.header, 2, (i4 - 2) + 1);
+                    if ((this.header[i4] & 255) != Lz4Codec.headerChecksum(this.header, 0, i4)) {
+                        throw new ZipException("lz4 frame header checksum mismatch");
+                    }
+                    this.independent = (i2 & 32) != 0;
+                    this.blockChecksum = (i2 & 16) != 0;
+                    this.contentChecksum = (i2 & 4) != 0;
+                    allocate(1 << ((i3 * 2) + 8));
+                    this.inFrame = true;
+                    return true;
+                }
+            }
+        }
+
+        private void allocate(int i) {
+            int i2 = this.independent ? i : Lz4Codec.WINDOW + i;
+            if (this.src == null || this.src.length < i || this.dst.length < i2) {
+                release();
+                this.src = BufferPool.acquire(i);
+                this.dst = BufferPool.acquire(i2);
+            }
+            this.blockMax = i;
+            this.dstEnd = 0;
+            this.position = 0;
+            this.limit = 0;
+        }
+
+        private void release() {
+            BufferPool.release(this.src);
+            BufferPool.release(this.dst);
+            this.src = null;
+            this.dst = null;
+        }
+
+        private void readFully(byte[] bArr, int i, int i2) throws IOException {
+            while (i2 > 0) {
+                int i3 = this.in.read(bArr, i, i2);
+                if (i3 <= 0) {
+                    throw new EOFException("unexpected end of lz4 stream");
+                }
+                i += i3;
+                i2 -= i3;
+            }
+        }
+
+        @Override // java.io.InputStream, java.io.Closeable, java.lang.AutoCloseable
+        public void close() throws IOException {
+            release();
+            this.in.close();
+        }
+    }
+}
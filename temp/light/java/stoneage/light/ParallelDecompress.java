@@ -0,0 +1,271 @@
+package com.stoneage.light;
+
+import android.util.Log;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.ZipException;
+
+/* loaded from: classes.dex */
+public class ParallelDecompress {
+    private static final int MAX_WORKERS = 8;
+    private static final String TAG = "Decompress";
+    private final ZipArchive _archive;
+    private final AtomicLong _bytes = new AtomicLong();
+    private AtomicBoolean _cancel;
+    private DirectoryCache _dirs;
+    private ExtractJournal _journal;
+    private AssetPackWriter _pack;
+    private ZipProgress _progress;
+    private final String _location;
+    private final int _workers;
+
+    public ParallelDecompress(ZipArchive zipArchive, String str) {
+        this(zipArchive, str, defaultWorkers());
+    }
+
+    public ParallelDecompress(ZipArchive zipArchive, String str, int i) {
+        this._archive = zipArchive;
+        this._location = str;
+        this._workers = Math.max(1, i);
+    }
+
+    public static int defaultWorkers() {
+        return ExtractGovernor.limit(Math.min(Runtime.getRuntime().availableProcessors(), MAX_WORKERS));
+    }
+
+    public void setJournal(ExtractJournal extractJournal) {
+        this._journal = extractJournal;
+    }
+
+    public void setCancel(AtomicBoolean atomicBoolean) {
+        this._cancel = atomicBoolean;
+    }
+
+    public void setPack(AssetPackWriter assetPackWriter) {
+        this._pack = assetPackWriter;
+    }
+
+    public boolean extract(boolean z) {
+        return extract(this._archive.getEntries(), z);
+    }
+
+    public boolean extract(final List<ZipArchive.Entry> entries, final boolean z) {
+        this._progress = ZipProgress.current();
+        if (this._pack == null) {
+            this._dirs = new DirectoryCache();
+            this._dirs.plan(this._location, entries);
+        }
+        final AtomicInteger atomicInteger = new AtomicInteger(0);
+        final AtomicBoolean atomicBoolean = new AtomicBoolean(false);
+        final Object obj = new Object();
+        int iMin = Math.min(this._workers, Math.max(1, entries.size()));
+        ExtractGovernor extractGovernor = iMin > 1 ? new ExtractGovernor(iMin) : null;
+        ExecutorService executorServiceNewCachedThreadPool = Executors.newCachedThreadPool(new ThreadFactory() { // from class: com.stoneage.light.ParallelDecompress.1
+            private int count = 0;
+
+            @Override // java.util.concurrent.ThreadFactory
+            public synchronized Thread newThread(Runnable runnable) {
+                StringBuilder sb = new StringBuilder("Decompress-");
+                int i = this.count;
+                this.count = i + 1;
+                Thread thread = new Thread(runnable, sb.append(i).toString());
+                thread.setPriority(4);
+                return thread;
+            }
+        });
+        ArrayList<Future<Boolean>> arrayList = new ArrayList<>(iMin);
+        ArrayList<AtomicBoolean> arrayList2 = new ArrayList<>(iMin);
+        int workers = extractGovernor != null ? extractGovernor.getWorkers() : 1;
+        boolean z2 = true;
+        while (true) {
+            try {
+                if (arrayList2.size() < workers) {
+                    final AtomicBoolean atomicBoolean2 = new AtomicBoolean(false);
+                    arrayList2.add(atomicBoolean2);
+                    arrayList.add(executorServiceNewCachedThreadPool.submit(new Callable<Boolean>() { // from class: com.stoneage.light.ParallelDecompress.2
+                        @Override // java.util.concurrent.Callable
+                        public Boolean call() throws IOException {
+                            byte[] bArrAcquire = BufferPool.acquire(StorageProbe.getChunkSize());
+                            try {
+                                while (!atomicBoolean.get() && !ParallelDecompress.this.isCancelled()) {
+                                    if (atomicBoolean2.get()) {
+                                        return true;
+                                    }
+                                    int andIncrement = atomicInteger.getAndIncrement();
+                                    if (andIncrement >= entries.size()) {
+                                        ParallelDecompress.wake(obj);
+                                        return true;
+                                    }
+                                    ParallelDecompress.this.extractEntry(entries.get(andIncrement), z, bArrAcquire);
+                                }
+                                return false;
+                            } catch (IOException e) {
+                                atomicBoolean.set(true);
+                                ParallelDecompress.wake(obj);
+                                throw e;
+                            } finally {
+                                BufferPool.release(bArrAcquire);
+                            }
+                        }
+                    }));
+                } else {
+                    if (arrayList2.size() > workers) {
+                        arrayList2.remove(arrayList2.size() - 1).set(true);
+                    } else {
+                        if (extractGovernor == null) {
+                            break;
+                        }
+                        synchronized (obj) {
+                            if (atomicBoolean.get() || isCancelled() || atomicInteger.get() >= entries.size()) {
+                                break;
+                            }
+                            obj.wait(ExtractGovernor.SAMPLE_MILLIS);
+                        }
+                        workers = extractGovernor.sample(this._bytes.get());
+                    }
+                }
+            } catch (InterruptedException e) {
+                atomicBoolean.set(true);
+                Thread.currentThread().interrupt();
+                z2 = false;
+            }
+        }
+        executorServiceNewCachedThreadPool.shutdown();
+        for (int i2 = 0; i2 < arrayList.size(); i2++) {
+            try {
+                if (!arrayList.get(i2).get().booleanValue()) {
+                    z2 = false;
+                }
+            } catch (InterruptedException e2) {
+                atomicBoolean.set(true);
+                Thread.currentThread().interrupt();
+                z2 = false;
+            } catch (ExecutionException e3) {
+                Log.e(TAG, "extract", e3.getCause());
+                z2 = false;
+            }
+        }
+        return z2;
+    }
+
+    boolean isCancelled() {
+        AtomicBoolean atomicBoolean = this._cancel;
+        return atomicBoolean != null && atomicBoolean.get();
+    }
+
+    static void wake(Object obj) {
+        synchronized (obj) {
+            obj.notifyAll();
+        }
+    }
+
+    private void extractEntry(ZipArchive.Entry entry, boolean z, byte[] bArr) throws IOException {
+        if (this._pack != null) {
+            if (!entry.isDirectory()) {
+                appendToPack(entry, bArr);
+            }
+            return;
+        }
+        if (entry.isDirectory()) {
+            return;
+        }
+        File file = new File(this._location + File.separator + entry.name);
+        boolean zIsFresh = this._dirs.isFresh(file.getParentFile());
+        ExtractJournal extractJournal = this._journal;
+        if ((extractJournal != null && extractJournal.isCommitted(entry.index)) || (!z && !zIsFresh && file.exists())) {
+            advance(entry.size);
+            return;
+        }
+        File filePartFile;
+        if (extractJournal != null) {
+            filePartFile = ExtractJournal.partFile(file);
+        } else {
+            if (!zIsFresh) {
+                file.delete();
+            }
+            filePartFile = file;
+        }
+        try {
+            decode(entry, filePartFile, bArr);
+        } catch (IOException e) {
+            filePartFile.delete();
+            throw e;
+        }
+        if (extractJournal != null) {
+            extractJournal.commit(entry.index, filePartFile, file);
+        }
+    }
+
+    private long decode(ZipArchive.Entry entry, File file, byte[] bArr) throws IOException {
+        InputStream inputStream = this._archive.getInputStream(entry);
+        long j = 0;
+        try {
+            FileOutputStream fileOutputStream = new FileOutputStream(file);
+            try {
+                boolean zPreallocate = StorageProbe.preallocate(fileOutputStream.getFD(), entry.size);
+                while (true) {
+                    int i = StorageProbe.fill(inputStream, bArr);
+                    if (i <= 0) {
+                        break;
+                    }
+                    fileOutputStream.write(bArr, 0, i);
+                    j += i;
+                    advance(i);
+                }
+                if (j != entry.size) {
+                    throw new ZipException("size mismatch: " + entry.name);
+                }
+                StorageProbe.finish(fileOutputStream, zPreallocate, j, entry.size);
+            } finally {
+                fileOutputStream.close();
+            }
+            return j;
+        } finally {
+            inputStream.close();
+        }
+    }
+
+    private void appendToPack(ZipArchive.Entry entry, byte[] bArr) throws IOException {
+        AssetPackWriter assetPackWriter = this._pack;
+        long jReserve = assetPackWriter.reserve(entry.name, entry.size, entry.crc);
+        InputStream inputStream = this._archive.getInputStream(entry);
+        long j = 0;
+        try {
+            while (true) {
+                int i = inputStream.read(bArr, 0, (int) Math.min(bArr.length, entry.size - j));
+                if (i <= 0) {
+                    break;
+                }
+                assetPackWriter.write(jReserve + j, bArr, 0, i);
+                j += i;
+                advance(i);
+            }
+        } finally {
+            inputStream.close();
+        }
+        if (j != entry.size) {
+            throw new ZipException("size mismatch: " + entry.name);
+        }
+    }
+
+    private void advance(long j) {
+        this._bytes.addAndGet(j);
+        ZipProgress zipProgress = this._progress;
+        if (zipProgress != null) {
+            zipProgress.advance(j);
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.stoneage.light;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.ZipException;
+
+/* loaded from: classes.dex */
+public class PatchConsolidator {
+    private static final int CENSIG = 33639248;
+    private static final int DOS_DATE = 33;
+    private static final int ENDSIG = 101010256;
+    public static final String FILE_NAME = "patch_cumulative.zip";
+    private static final int FLAG_UTF8 = 2048;
+    private static final int LOCSIG = 67324752;
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    public static int consolidate(ZipArchive[] zipArchiveArr, File file, String str) throws IOException {
+        return consolidate(zipArchiveArr, file, str, -1);
+    }
+
+    public static int consolidate(ZipArchive[] zipArchiveArr, File file, String str, int i) throws IOException {
+        ZipCodec codec = i >= 0 ? ZipArchive.getCodec(i) : null;
+        if (i >= 0 && codec == null) {
+            throw new ZipException("no codec registered for method " + i);
+        }
+        List<PatchPlan.Item> items = new PatchPlan(zipArchiveArr).getItems();
+        if (items.size() > 65535) {
+            throw new ZipException("too many entries for a non-zip64 archive: " + items.size());
+        }
+        File file2 = new File(file.getPath() + ".tmp");
+        RandomAccessFile randomAccessFile = new RandomAccessFile(file2, "rw");
+        try {
+            randomAccessFile.setLength(0L);
+            FileChannel channel = randomAccessFile.getChannel();
+            long[] jArr = new long[items.size()];
+            int[] iArr = new int[items.size()];
+            long[] jArr2 = new long[items.size()];
+            for (int i2 = 0; i2 < items.size(); i2++) {
+                PatchPlan.Item item = items.get(i2);
+                ZipArchive.Entry entry = item.entry;
+                byte[] bytes = entry.name.getBytes(UTF8);
+                long jPosition = channel.position();
+                jArr[i2] = checkOffset(jPosition);
+                iArr[i2] = entry.method;
+                jArr2[i2] = entry.compressedSize;
+                if (codec != null && entry.method == ZipArchive.METHOD_DEFLATED && entry.size > 0) {
+                    writeFully(channel, localHeader(bytes, i, entry.crc, 0L, entry.size));
+                    InputStream inputStream = zipArchiveArr[item.patch].getInputStream(entry);
+                    try {
+                        codec.encode(inputStream, Channels.newOutputStream(channel));
+                        inputStream.close();
+                        long jPosition2 = channel.position() - (bytes.length + 30 + jPosition);
+                        if (jPosition2 < entry.size) {
+                            ByteBuffer byteBufferOrder = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+                            byteBufferOrder.putInt((int) checkOffset(jPosition2));
+                            byteBufferOrder.flip();
+                            channel.write(byteBufferOrder, jPosition + 18);
+                            iArr[i2] = i;
+                            jArr2[i2] = jPosition2;
+                        } else {
+                            channel.truncate(jPosition);
+                            channel.position(jPosition);
+                        }
+                    } catch (IOException e) {
+                        inputStream.close();
+                        throw e;
+                    }
+                }
+                if (iArr[i2] == entry.method) {
+                    writeFully(channel, localHeader(bytes, entry.method, entry.crc, entry.compressedSize, entry.size));
+                    zipArchiveArr[item.patch].transferRawTo(entry, channel);
+                }
+            }
+            long jCheckOffset = checkOffset(channel.position());
+            for (int i3 = 0; i3 < items.size(); i3++) {
+                ZipArchive.Entry entry2 = items.get(i3).entry;
+                byte[] bytes2 = entry2.name.getBytes(UTF8);
+                ByteBuffer byteBufferOrder2 = ByteBuffer.allocate(bytes2.length + 46).order(ByteOrder.LITTLE_ENDIAN);
+                byteBufferOrder2.putInt(CENSIG);
+                byteBufferOrder2.putShort((short) 20);
+                byteBufferOrder2.putShort((short) 20);
+                byteBufferOrder2.putShort((short) FLAG_UTF8);
+                byteBufferOrder2.putShort((short) iArr[i3]);
+                byteBufferOrder2.putShort((short) 0);
+                byteBufferOrder2.putShort((short) DOS_DATE);
+                byteBufferOrder2.putInt((int) entry2.crc);
+                byteBufferOrder2.putInt((int) jArr2[i3]);
+                byteBufferOrder2.putInt((int) entry2.size);
+                byteBufferOrder2.putShort((short) bytes2.length);
+                byteBufferOrder2.putShort((short) 0);
+                byteBufferOrder2.putShort((short) 0);
+                byteBufferOrder2.putShort((short) 0);
+                byteBufferOrder2.putShort((short) 0);
+                byteBufferOrder2.putInt(entry2.isDirectory() ? 16 : 0);
+                byteBufferOrder2.putInt((int) jArr[i3]);
+                byteBufferOrder2.put(bytes2);
+                byteBufferOrder2.flip();
+                writeFully(channel, byteBufferOrder2);
+            }
+            long jCheckOffset2 = checkOffset(channel.position());
+            byte[] bytes3 = str.getBytes(UTF8);
+            if (bytes3.length > 65535) {
+                throw new ZipException("archive comment too long");
+            }
+            ByteBuffer byteBufferOrder3 = ByteBuffer.allocate(bytes3.length + 22).order(ByteOrder.LITTLE_ENDIAN);
+            byteBufferOrder3.putInt(ENDSIG);
+            byteBufferOrder3.putShort((short) 0);
+            byteBufferOrder3.putShort((short) 0);
+            byteBufferOrder3.putShort((short) items.size());
+            byteBufferOrder3.putShort((short) items.size());
+            byteBufferOrder3.putInt((int) (jCheckOffset2 - jCheckOffset));
+            byteBufferOrder3.putInt((int) jCheckOffset);
+            byteBufferOrder3.putShort((short) bytes3.length);
+            byteBufferOrder3.put(bytes3);
+            byteBufferOrder3.flip();
+            writeFully(channel, byteBufferOrder3);
+            channel.force(true);
+            randomAccessFile.close();
+            if (!file2.renameTo(file)) {
+                throw new IOException("rename failed: " + file.getPath());
+            }
+            return items.size();
+        } catch (IOException e) {
+            randomAccessFile.close();
+            file2.delete();
+            throw e;
+        }
+    }
+
+    public static String stamp(ZipArchive[] zipArchiveArr) {
+        StringBuilder sb = new StringBuilder();
+        CRC32 crc32 = new CRC32();
+        ByteBuffer byteBufferOrder = ByteBuffer.allocate(16).order(ByteOrder.LITTLE_ENDIAN);
+        for (ZipArchive zipArchive : zipArchiveArr) {
+            crc32.reset();
+            List<ZipArchive.Entry> entries = zipArchive.getEntries();
+            for (ZipArchive.Entry entry : entries) {
+                crc32.update(entry.name.getBytes(UTF8));
+                byteBufferOrder.clear();
+                byteBufferOrder.putLong(entry.crc);
+                byteBufferOrder.putLong(entry.size);
+                crc32.update(byteBufferOrder.array(), 0, byteBufferOrder.position());
+            }
+            sb.append(entries.size()).append(':').append(Long.toHexString(crc32.getValue())).append(';');
+        }
+        return sb.toString();
+    }
+
+    private static ByteBuffer localHeader(byte[] bArr, int i, long j, long j2, long j3) {
+        ByteBuffer byteBufferOrder = ByteBuffer.allocate(bArr.length + 30).order(ByteOrder.LITTLE_ENDIAN);
+        byteBufferOrder.putInt(LOCSIG);
+        byteBufferOrder.putShort((short) 20);
+        byteBufferOrder.putShort((short) FLAG_UTF8);
+        byteBufferOrder.putShort((short) i);
+        byteBufferOrder.putShort((short) 0);
+        byteBufferOrder.putShort((short) DOS_DATE);
+        byteBufferOrder.putInt((int) j);
+        byteBufferOrder.putInt((int) j2);
+        byteBufferOrder.putInt((int) j3);
+        byteBufferOrder.putShort((short) bArr.length);
+        byteBufferOrder.putShort((short) 0);
+        byteBufferOrder.put(bArr);
+        byteBufferOrder.flip();
+        return byteBufferOrder;
+    }
+
+    private static long checkOffset(long j) throws ZipException {
+        if (j >= 4294967295L) {
+            throw new ZipException("archive exceeds 4 GB, zip64 is not supported");
+        }
+        return j;
+    }
+
+    private static void writeFully(FileChannel fileChannel, ByteBuffer byteBuffer) throws IOException {
+        while (byteBuffer.hasRemaining()) {
+            fileChannel.write(byteBuffer);
+        }
+    }
+
+    public static void main(String[] strArr) throws IOException {
+        int i = 0;
+        int i2 = -1;
+        if (strArr.length > 0 && "--lz4".equals(strArr[0])) {
+            i = 1;
+            i2 = ZipArchive.METHOD_LZ4;
+        }
+        if (strArr.length - i < 2) {
+            System.err.println("usage: PatchConsolidator [--lz4] <out.zip> <patch_0.zip> [patch_1.zip ...]");
+            System.exit(2);
+            return;
+        }
+        ZipArchive[] zipArchiveArr = new ZipArchive[(strArr.length - i) - 1];
+        try {
+            for (int i3 = i + 1; i3 < strArr.length; i3++) {
+                zipArchiveArr[(i3 - i) - 1] = ZipArchive.open(new File(strArr[i3]));
+            }
+            long jCurrentTimeMillis = System.currentTimeMillis();
+            File file2 = new File(strArr[i]);
+            int iConsolidate = consolidate(zipArchiveArr, file2, stamp(zipArchiveArr), i2);
+            System.out.println("wrote " + iConsolidate + " entries (" + (file2.length() >> 10) + " KB) to " + file2.getPath() + " in " + (System.currentTimeMillis() - jCurrentTimeMillis) + " ms");
+        } finally {
+            for (ZipArchive zipArchive : zipArchiveArr) {
+                if (zipArchive != null) {
+                    zipArchive.close();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.stoneage.light;
+
+import android.util.Log;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.util.HashMap;
+import java.util.Map;
+
+/* loaded from: classes.dex */
+public class PatchManifest {
+    public static final String FILE_NAME = ".patch_manifest";
+    private static final String TAG = "PatchManifest";
+    private static final String VERSION = "1";
+    private final File file;
+    private final HashMap<String, Record> records = new HashMap<>();
+
+    public static class Record {
+        public final long crc;
+        public final String name;
+        public final int patch;
+        public final long size;
+
+        public Record(String str, long j, long j2, int i) {
+            this.name = str;
+            this.size = j;
+            this.crc = j2;
+            this.patch = i;
+        }
+    }
+
+    public PatchManifest(String str) {
+        this.file = new File(str, FILE_NAME);
+    }
+
+    public static PatchManifest load(String str) {
+        PatchManifest patchManifest = new PatchManifest(str);
+        try {
+            BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(new FileInputStream(patchManifest.file), "UTF-8"));
+            try {
+                if (!VERSION.equals(bufferedReader.readLine())) {
+                    return patchManifest;
+                }
+                while (true) {
+                    String line = bufferedReader.readLine();
+                    if (line == null) {
+                        break;
+                    }
+                    String[] strArrSplit = line.split("\t", 4);
+                    if (strArrSplit.length == 4) {
+                        patchManifest.put(new Record(strArrSplit[3], Long.parseLong(strArrSplit[1]), Long.parseLong(strArrSplit[2], 16), Integer.parseInt(strArrSplit[0])));
+                    }
+                }
+            } finally {
+                bufferedReader.close();
+            }
+        } catch (FileNotFoundException unused) {
+        } catch (Exception e) {
+            Log.w(TAG, "load", e);
+            patchManifest.records.clear();
+        }
+        return patchManifest;
+    }
+
+    public Record get(String str) {
+        return this.records.get(str);
+    }
+
+    public void put(Record record) {
+        this.records.put(record.name, record);
+    }
+
+    public void remove(String str) {
+        this.records.remove(str);
+    }
+
+    public int size() {
+        return this.records.size();
+    }
+
+    public boolean isUpToDate(ZipArchive.Entry entry, File file) {
+        Record record = this.records.get(entry.name);
+        return record != null && record.size == entry.size && record.crc == entry.crc && file.length() == entry.size && file.isFile();
+    }
+
+    public boolean save() {
+        File file = new File(this.file.getPath() + ".tmp");
+        try {
+            FileOutputStream fileOutputStream = new FileOutputStream(file);
+            try {
+                BufferedWriter bufferedWriter = new BufferedWriter(new OutputStreamWriter(fileOutputStream, "UTF-8"), 65536);
+                bufferedWriter.write(VERSION);
+                bufferedWriter.write(10);
+                for (Map.Entry<String, Record> entry : this.records.entrySet()) {
+                    Record value = entry.getValue();
+                    bufferedWriter.write(Integer.toString(value.patch));
+                    bufferedWriter.write(9);
+                    bufferedWriter.write(Long.toString(value.size));
+                    bufferedWriter.write(9);
+                    bufferedWriter.write(Long.toHexString(value.crc));
+                    bufferedWriter.write(9);
+                    bufferedWriter.write(value.name);
+                    bufferedWriter.write(10);
+                }
+                bufferedWriter.flush();
+                fileOutputStream.getFD().sync();
+            } finally {
+                fileOutputStream.close();
+            }
+            if (file.renameTo(this.file)) {
+                return true;
+            }
+            Log.w(TAG, "save: rename failed");
+            return false;
+        } catch (IOException e) {
+            Log.w(TAG, "save", e);
+            file.delete();
+            return false;
+        }
+    }
+}
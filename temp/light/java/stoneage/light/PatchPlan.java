@@ -0,0 +1,57 @@
+package com.stoneage.light;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/* loaded from: classes.dex */
+public class PatchPlan {
+    private final ZipArchive[] archives;
+    private final LinkedHashMap<String, Item> items = new LinkedHashMap<>();
+
+    public static class Item {
+        public final ZipArchive.Entry entry;
+        public final int patch;
+
+        Item(int i, ZipArchive.Entry entry) {
+            this.patch = i;
+            this.entry = entry;
+        }
+    }
+
+    public PatchPlan(ZipArchive[] zipArchiveArr) {
+        this.archives = zipArchiveArr;
+        for (int i = 0; i < zipArchiveArr.length; i++) {
+            for (ZipArchive.Entry entry : zipArchiveArr[i].getEntries()) {
+                this.items.remove(entry.name);
+                this.items.put(entry.name, new Item(i, entry));
+            }
+        }
+    }
+
+    public ZipArchive getArchive(int i) {
+        return this.archives[i];
+    }
+
+    public int getArchiveCount() {
+        return this.archives.length;
+    }
+
+    public List<Item> getItems() {
+        return new ArrayList<>(this.items.values());
+    }
+
+    public Item get(String str) {
+        return this.items.get(str);
+    }
+
+    public static List<ZipArchive.Entry> entriesOf(List<Item> list, int i) {
+        ArrayList<ZipArchive.Entry> arrayList = new ArrayList<>();
+        for (Item item : list) {
+            if (item.patch == i) {
+                arrayList.add(item.entry);
+            }
+        }
+        return arrayList;
+    }
+}
@@ -0,0 +1,135 @@
+package com.stoneage.light;
+
+import android.util.Log;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/* loaded from: classes.dex */
+public class PriorityManifest {
+    public static final String FILE_NAME = "patch_priority.txt";
+    private static final String TAG = "PriorityManifest";
+    public static final int TIER_CRITICAL = 0;
+    public static final int TIER_COUNT = 3;
+    public static final int TIER_DEFERRED = 2;
+    public static final int TIER_NORMAL = 1;
+    private final ArrayList<Rule> rules = new ArrayList<>();
+
+    static class Rule {
+        final Pattern pattern;
+        final int tier;
+
+        Rule(int i, Pattern pattern) {
+            this.tier = i;
+            this.pattern = pattern;
+        }
+    }
+
+    public static PriorityManifest load(String str) {
+        try {
+            InputStream fileInputStream;
+            File file = new File(str, FILE_NAME);
+            if (file.exists()) {
+                fileInputStream = new FileInputStream(file);
+            } else {
+                fileInputStream = StoneageApplication.getAppContext().getAssets().open(FILE_NAME);
+            }
+            try {
+                return parse(fileInputStream);
+            } finally {
+                fileInputStream.close();
+            }
+        } catch (FileNotFoundException unused) {
+            return null;
+        } catch (IOException e) {
+            Log.w(TAG, "load", e);
+            return null;
+        }
+    }
+
+    public static PriorityManifest parse(InputStream inputStream) throws IOException {
+        PriorityManifest priorityManifest = new PriorityManifest();
+        BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(inputStream, "UTF-8"));
+        while (true) {
+            String line = bufferedReader.readLine();
+            if (line == null) {
+                return priorityManifest;
+            }
+            String strTrim = line.trim();
+            if (strTrim.length() != 0 && !strTrim.startsWith("#")) {
+                String[] strArrSplit = strTrim.split("\\s+", 2);
+                int tier = strArrSplit.length == 2 ? parseTier(strArrSplit[0]) : -1;
+                if (tier < 0) {
+                    Log.w(TAG, "ignoring line: " + line);
+                } else {
+                    priorityManifest.rules.add(new Rule(tier, compile(strArrSplit[1])));
+                }
+            }
+        }
+    }
+
+    private static int parseTier(String str) {
+        if ("critical".equals(str)) {
+            return TIER_CRITICAL;
+        }
+        if ("normal".equals(str)) {
+            return TIER_NORMAL;
+        }
+        if ("deferred".equals(str)) {
+            return TIER_DEFERRED;
+        }
+        return -1;
+    }
+
+    static Pattern compile(String str) {
+        StringBuilder sb = new StringBuilder();
+        int i = 0;
+        while (i < str.length()) {
+            char cCharAt = str.charAt(i);
+            if (cCharAt == '*') {
+                if (i + 1 < str.length() && str.charAt(i + 1) == '*') {
+                    sb.append(".*");
+                    i++;
+                } else {
+                    sb.append("[^/]*");
+                }
+            } else if (cCharAt == '?') {
+                sb.append("[^/]");
+            } else if ("\\.[]{}()+-^$|".indexOf(cCharAt) >= 0) {
+                sb.append('\\').append(cCharAt);
+            } else {
+                sb.append(cCharAt);
+            }
+            i++;
+        }
+        return Pattern.compile(sb.toString());
+    }
+
+    public int tierOf(String str) {
+        for (int i = 0; i < this.rules.size(); i++) {
+            Rule rule = this.rules.get(i);
+            if (rule.pattern.matcher(str).matches()) {
+                return rule.tier;
+            }
+        }
+        return TIER_NORMAL;
+    }
+
+    public static List<List<PatchPlan.Item>> partition(PriorityManifest priorityManifest, List<PatchPlan.Item> list) {
+        ArrayList<List<PatchPlan.Item>> arrayList = new ArrayList<>(TIER_COUNT);
+        for (int i = 0; i < TIER_COUNT; i++) {
+            arrayList.add(new ArrayList<PatchPlan.Item>());
+        }
+        for (PatchPlan.Item item : list) {
+            arrayList.get((priorityManifest == null || item.entry.isDirectory()) ? TIER_CRITICAL : priorityManifest.tierOf(item.entry.name)).add(item);
+        }
+        return arrayList;
+    }
+}
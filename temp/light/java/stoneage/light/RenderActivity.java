@@ -92,6 +92,7 @@ public class RenderActivity extends SDLActivity {
             @Override // android.content.DialogInterface.OnClickListener
             public void onClick(DialogInterface dialogInterface, int i2) {
                 if (z) {
+                    ConfigStore.syncAll();
                     System.exit(0);
                 }
             }
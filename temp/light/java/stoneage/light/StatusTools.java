@@ -28,7 +28,7 @@ public class StatusTools {
         @Override // android.content.BroadcastReceiver
         public void onReceive(Context context, Intent intent) {
             int unused = StatusTools.isRecharging = intent.getIntExtra(NotificationCompat.CATEGORY_STATUS, -1) == 2 ? 1 : 0;
-            int unused2 = StatusTools.currentBattery = (int) ((intent.getIntExtra("level", -1) / intent.getIntExtra("scale", -1)) + 0.5d);
+            int unused2 = StatusTools.currentBattery = StatusTools.batteryPercent(intent);
             JNILibrary.refreshBatteryInfo(StatusTools.isRecharging, StatusTools.currentBattery);
         }
     }
@@ -40,6 +40,15 @@ public class StatusTools {
         }
     }
 
+    static int batteryPercent(Intent intent) {
+        int intExtra = intent.getIntExtra("level", -1);
+        int intExtra2 = intent.getIntExtra("scale", -1);
+        if (intExtra < 0 || intExtra2 <= 0) {
+            return currentBattery;
+        }
+        return (int) (((intExtra * 100.0f) / intExtra2) + 0.5f);
+    }
+
     public static void readStatus() {
         MyPhoneStateListener myPhoneStateListener2;
         Context appContext = StoneageApplication.getAppContext();
@@ -47,8 +56,9 @@ public class StatusTools {
         if (powerReceiver == null) {
             powerReceiver = new PowerConnectionReceiver();
         }
-        isRecharging = appContext.registerReceiver(powerReceiver, intentFilter).getIntExtra(NotificationCompat.CATEGORY_STATUS, -1) == 2 ? 1 : 0;
-        currentBattery = (int) (((r1.getIntExtra("level", -1) / r1.getIntExtra("scale", -1)) * 100.0f) + 0.5d);
+        Intent intentRegisterReceiver = appContext.registerReceiver(powerReceiver, intentFilter);
+        isRecharging = intentRegisterReceiver.getIntExtra(NotificationCompat.CATEGORY_STATUS, -1) == 2 ? 1 : 0;
+        currentBattery = batteryPercent(intentRegisterReceiver);
         networkType = __getNetworkType();
         if (myPhoneStateListener == null) {
             myPhoneStateListener = new MyPhoneStateListener();
@@ -0,0 +1,235 @@
+package com.stoneage.light;
+
+import android.system.ErrnoException;
+import android.system.Os;
+import android.system.OsConstants;
+import android.text.TextUtils;
+import android.util.Log;
+import java.io.File;
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/* loaded from: classes.dex */
+public class StorageProbe {
+    private static final int[] CANDIDATES = {65536, 262144, 1048576};
+    private static final int DEFAULT_CHUNK_SIZE = 262144;
+    public static final long PREALLOCATE_MIN = 65536;
+    private static final long PROBE_BYTES = 4194304;
+    private static final String PROBE_FILE = ".storage_probe";
+    private static final int SMALL_FILES = 64;
+    private static final int SMALL_FILE_BYTES = 16384;
+    private static final String TAG = "StorageProbe";
+    private static Thread calibrateThread;
+    private static int chunkSize;
+    private static volatile boolean fallocateUnsupported;
+    private static String probedPath;
+    private static long writeSpeed;
+
+    public static synchronized int getChunkSize() {
+        String storagePath = AssetsReleaser.getStoragePath();
+        if (chunkSize == 0 || !storagePath.equals(probedPath)) {
+            probedPath = storagePath;
+            if (!load(storagePath)) {
+                calibrateInBackground(storagePath);
+            }
+        }
+        return chunkSize;
+    }
+
+    public static synchronized long getWriteSpeed() {
+        getChunkSize();
+        return writeSpeed;
+    }
+
+    public static void calibrate(String str) {
+        synchronized (StorageProbe.class) {
+            probedPath = str;
+            if (load(str)) {
+                return;
+            }
+        }
+        long[] jArrProbe = probe(str);
+        if (jArrProbe != null) {
+            synchronized (StorageProbe.class) {
+                if (str.equals(probedPath)) {
+                    chunkSize = (int) jArrProbe[0];
+                    writeSpeed = jArrProbe[1];
+                }
+            }
+        }
+    }
+
+    private static boolean load(String str) {
+        chunkSize = DEFAULT_CHUNK_SIZE;
+        writeSpeed = 0L;
+        String strGetConfig = AssetsReleaser.GetConfig("STONEAGE_STORAGE_PROBE");
+        if (!TextUtils.isEmpty(strGetConfig)) {
+            String[] strArrSplit = strGetConfig.split("\\|");
+            if (strArrSplit.length == 3 && strArrSplit[0].equals(str)) {
+                try {
+                    int i = Integer.parseInt(strArrSplit[1]);
+                    writeSpeed = Long.parseLong(strArrSplit[2]);
+                    chunkSize = i;
+                    return true;
+                } catch (NumberFormatException unused) {
+                    writeSpeed = 0L;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static void calibrateInBackground(final String str) {
+        if (calibrateThread != null && calibrateThread.isAlive()) {
+            return;
+        }
+        Thread thread = new Thread(new Runnable() { // from class: com.stoneage.light.StorageProbe.1
+            @Override // java.lang.Runnable
+            public void run() {
+                StorageProbe.probe(str);
+            }
+        }, "StorageProbe-Calibrate");
+        thread.setPriority(1);
+        calibrateThread = thread;
+        thread.start();
+    }
+
+    static long[] probe(String str) {
+        File file = new File(str);
+        if (!file.isDirectory()) {
+            return null;
+        }
+        File file2 = new File(file, PROBE_FILE);
+        try {
+            int i = DEFAULT_CHUNK_SIZE;
+            long j = 0;
+            for (int i2 : CANDIDATES) {
+                long jMeasure = measure(file2, i2, PROBE_BYTES);
+                if (jMeasure > j) {
+                    j = jMeasure;
+                    i = i2;
+                }
+            }
+            AssetsReleaser.SetConfig("STONEAGE_STORAGE_PROBE", str + "|" + i + "|" + j);
+            Log.i(TAG, str + ": " + (j >> 10) + " KB/s, write chunk " + (i >> 10) + " KB");
+            return new long[]{i, j};
+        } catch (IOException e) {
+            Log.w(TAG, "calibrate " + str, e);
+            return null;
+        } finally {
+            file2.delete();
+        }
+    }
+
+    static long measure(File file, int i, long j) throws IOException {
+        byte[] bArrAcquire = BufferPool.acquire(i);
+        try {
+            long jNanoTime = System.nanoTime();
+            FileOutputStream fileOutputStream = new FileOutputStream(file);
+            long j2 = 0;
+            while (j2 < j) {
+                try {
+                    fileOutputStream.write(bArrAcquire, 0, i);
+                    j2 += i;
+                } catch (Throwable th) {
+                    fileOutputStream.close();
+                    throw th;
+                }
+            }
+            fileOutputStream.getFD().sync();
+            fileOutputStream.close();
+            return (j2 * 1000000000) / Math.max(1L, System.nanoTime() - jNanoTime);
+        } finally {
+            BufferPool.release(bArrAcquire);
+        }
+    }
+
+    public static long score(File file) {
+        File file2 = new File(file, PROBE_FILE);
+        File file3 = new File(file, PROBE_FILE + "_small");
+        byte[] bArrAcquire = BufferPool.acquire(BufferPool.LARGE);
+        try {
+            long jNanoTime = System.nanoTime();
+            long jMeasure = measure(file2, BufferPool.LARGE, PROBE_BYTES);
+            read(file2, bArrAcquire);
+            if (!file3.isDirectory() && !file3.mkdirs()) {
+                throw new IOException("cannot create " + file3);
+            }
+            for (int i = 0; i < SMALL_FILES; i++) {
+                FileOutputStream fileOutputStream = new FileOutputStream(new File(file3, Integer.toString(i)));
+                try {
+                    fileOutputStream.write(bArrAcquire, 0, SMALL_FILE_BYTES);
+                    if (i == SMALL_FILES - 1) {
+                        fileOutputStream.getFD().sync();
+                    }
+                } finally {
+                    fileOutputStream.close();
+                }
+            }
+            for (int i2 = 0; i2 < SMALL_FILES; i2++) {
+                read(new File(file3, Integer.toString(i2)), bArrAcquire);
+            }
+            long j = (((PROBE_BYTES + (SMALL_FILES * SMALL_FILE_BYTES)) * 2) * 1000000000) / Math.max(1L, System.nanoTime() - jNanoTime);
+            Log.i(TAG, file + ": sequential write " + (jMeasure >> 10) + " KB/s, mixed " + (j >> 10) + " KB/s");
+            return j;
+        } catch (IOException e) {
+            Log.w(TAG, "score " + file, e);
+            return 0L;
+        } finally {
+            BufferPool.release(bArrAcquire);
+            file2.delete();
+            for (int i3 = 0; i3 < SMALL_FILES; i3++) {
+                new File(file3, Integer.toString(i3)).delete();
+            }
+            file3.delete();
+        }
+    }
+
+    private static void read(File file, byte[] bArr) throws IOException {
+        FileInputStream fileInputStream = new FileInputStream(file);
+        try {
+            while (fileInputStream.read(bArr) != -1) {
+            }
+        } finally {
+            fileInputStream.close();
+        }
+    }
+
+    public static boolean preallocate(FileDescriptor fileDescriptor, long j) throws IOException {
+        if (j < PREALLOCATE_MIN || fallocateUnsupported) {
+            return false;
+        }
+        try {
+            Os.posix_fallocate(fileDescriptor, 0L, j);
+            return true;
+        } catch (ErrnoException e) {
+            if (e.errno == OsConstants.ENOSPC) {
+                throw new IOException("no space left for " + j + " bytes", e);
+            }
+            fallocateUnsupported = true;
+            Log.i(TAG, "posix_fallocate unavailable (errno " + e.errno + "), writing without preallocation");
+            return false;
+        }
+    }
+
+    public static void finish(FileOutputStream fileOutputStream, boolean z, long j, long j2) throws IOException {
+        if (z && j != j2) {
+            fileOutputStream.getChannel().truncate(j);
+        }
+    }
+
+    public static int fill(InputStream inputStream, byte[] bArr) throws IOException {
+        int i = 0;
+        while (i < bArr.length) {
+            int i2 = inputStream.read(bArr, i, bArr.length - i);
+            if (i2 <= 0) {
+                break;
+            }
+            i += i2;
+        }
+        return i;
+    }
+}
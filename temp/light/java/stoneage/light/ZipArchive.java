@@ -0,0 +1,473 @@
+package com.stoneage.light;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/* loaded from: classes.dex */
+public class ZipArchive implements Closeable {
+    public static final int METHOD_DEFLATED = 8;
+    public static final int METHOD_LZ4 = 19508;
+    public static final int METHOD_STORED = 0;
+    private static final int CENSIG = 33639248;
+    private static final int ENDHDR = 22;
+    private static final int ENDSIG = 101010256;
+    private static final int LOCHDR = 30;
+    private static final int LOCSIG = 67324752;
+    private static final int MAX_COMMENT = 65535;
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+    private static final ConcurrentHashMap<Integer, ZipCodec> codecs;
+    private final long base;
+    private final FileChannel channel;
+    private final ArrayList<Entry> entries = new ArrayList<>();
+    private final long length;
+    private String comment = "";
+    private long endOffset;
+    private volatile ZipIndex index;
+    private final Closeable owner;
+
+    public static class Entry {
+        public final long compressedSize;
+        public final long crc;
+        public final int index;
+        public final long localHeaderOffset;
+        public final int method;
+        public final String name;
+        public final long size;
+        private volatile long dataOffset = -1;
+
+        Entry(int i, String str, int i2, long j, long j2, long j3, long j4) {
+            this.index = i;
+            this.name = str;
+            this.method = i2;
+            this.crc = j;
+            this.compressedSize = j2;
+            this.size = j3;
+            this.localHeaderOffset = j4;
+        }
+
+        public boolean isDirectory() {
+            return this.name.endsWith("/");
+        }
+    }
+
+    static {
+        ConcurrentHashMap<Integer, ZipCodec> concurrentHashMap = new ConcurrentHashMap<>();
+        codecs = concurrentHashMap;
+        concurrentHashMap.put(Integer.valueOf(METHOD_LZ4), new Lz4Codec());
+    }
+
+    public ZipArchive(FileChannel fileChannel, long j, long j2, Closeable closeable) throws IOException {
+        this(fileChannel, j, j2, closeable, null);
+    }
+
+    public ZipArchive(FileChannel fileChannel, long j, long j2, Closeable closeable, ZipIndex zipIndex) throws IOException {
+        this.channel = fileChannel;
+        this.base = j;
+        this.length = j2;
+        this.owner = closeable;
+        try {
+            if (zipIndex != null && zipIndex.length == j2 && isEndRecord(zipIndex.endOffset)) {
+                this.entries.addAll(zipIndex.entries);
+                this.comment = zipIndex.comment;
+                this.endOffset = zipIndex.endOffset;
+                this.index = zipIndex;
+            } else {
+                readCentralDirectory();
+            }
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+    }
+
+    public static ZipArchive open(File file) throws IOException {
+        String absolutePath = file.getAbsolutePath();
+        String str = absolutePath + ":" + file.length() + ":" + file.lastModified();
+        RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+        ZipArchive zipArchive = new ZipArchive(randomAccessFile.getChannel(), 0L, randomAccessFile.length(), randomAccessFile, ZipIndex.get(absolutePath, str));
+        ZipIndex.remember(absolutePath, str, zipArchive);
+        return zipArchive;
+    }
+
+    public static void registerCodec(int i, ZipCodec zipCodec) {
+        codecs.put(Integer.valueOf(i), zipCodec);
+    }
+
+    public static ZipCodec getCodec(int i) {
+        return codecs.get(Integer.valueOf(i));
+    }
+
+    public boolean hasCodecEntries() {
+        return usesCodecs(this.entries);
+    }
+
+    public static boolean usesCodecs(List<Entry> list) {
+        for (int i = 0; i < list.size(); i++) {
+            int i2 = list.get(i).method;
+            if (i2 != METHOD_STORED && i2 != METHOD_DEFLATED) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public List<Entry> getEntries() {
+        return Collections.unmodifiableList(this.entries);
+    }
+
+    public Entry getEntry(String str) {
+        return getIndex().find(str);
+    }
+
+    public ZipIndex getIndex() {
+        ZipIndex zipIndex = this.index;
+        if (zipIndex != null) {
+            return zipIndex;
+        }
+        ZipIndex zipIndex2 = new ZipIndex("", this.length, this.endOffset, this.comment, this.entries);
+        this.index = zipIndex2;
+        return zipIndex2;
+    }
+
+    public long getLength() {
+        return this.length;
+    }
+
+    public String getComment() {
+        return this.comment;
+    }
+
+    public long getDataOffset(Entry entry) throws IOException {
+        long j = entry.dataOffset;
+        if (j >= 0) {
+            return j;
+        }
+        ByteBuffer byteBufferOrder = ByteBuffer.allocate(LOCHDR).order(ByteOrder.LITTLE_ENDIAN);
+        readFully(byteBufferOrder, entry.localHeaderOffset);
+        if (byteBufferOrder.getInt(0) != LOCSIG) {
+            throw new ZipException("bad local header: " + entry.name);
+        }
+        long j2 = entry.localHeaderOffset + LOCHDR + (byteBufferOrder.getShort(26) & 65535) + (byteBufferOrder.getShort(28) & 65535);
+        if (entry.compressedSize + j2 > this.length) {
+            throw new ZipException("entry data out of range: " + entry.name);
+        }
+        entry.dataOffset = j2;
+        return j2;
+    }
+
+    public InputStream getRawInputStream(Entry entry) throws IOException {
+        return new RangeInputStream(this.channel, this.base + getDataOffset(entry), entry.compressedSize);
+    }
+
+    public InputStream getInputStream(Entry entry) throws IOException {
+        InputStream rawInputStream = getRawInputStream(entry);
+        if (entry.method == METHOD_STORED) {
+            return new CheckedEntryInputStream(rawInputStream, entry);
+        }
+        if (entry.method == METHOD_DEFLATED) {
+            return new CheckedEntryInputStream(new InflatingInputStream(rawInputStream), entry);
+        }
+        ZipCodec zipCodec = codecs.get(Integer.valueOf(entry.method));
+        if (zipCodec != null) {
+            try {
+                return new CheckedEntryInputStream(zipCodec.open(rawInputStream, entry), entry);
+            } catch (IOException e) {
+                rawInputStream.close();
+                throw e;
+            }
+        }
+        rawInputStream.close();
+        throw new ZipException("unsupported compression method " + entry.method + ": " + entry.name);
+    }
+
+    public long transferTo(Entry entry, WritableByteChannel writableByteChannel) throws IOException {
+        if (entry.method != METHOD_STORED) {
+            throw new ZipException("entry is compressed: " + entry.name);
+        }
+        return transferRawTo(entry, writableByteChannel);
+    }
+
+    public long transferRawTo(Entry entry, WritableByteChannel writableByteChannel) throws IOException {
+        long dataOffset = this.base + getDataOffset(entry);
+        long j = 0;
+        while (j < entry.compressedSize) {
+            long jTransferTo = this.channel.transferTo(dataOffset + j, entry.compressedSize - j, writableByteChannel);
+            if (jTransferTo <= 0) {
+                throw new EOFException("truncated entry: " + entry.name);
+            }
+            j += jTransferTo;
+        }
+        return j;
+    }
+
+    @Override // java.io.Closeable, java.lang.AutoCloseable
+    public void close() throws IOException {
+        Closeable closeable = this.owner;
+        if (closeable != null) {
+            closeable.close();
+        } else {
+            this.channel.close();
+        }
+    }
+
+    private void readCentralDirectory() throws IOException {
+        long j = this.length;
+        if (j < ENDHDR) {
+            throw new ZipException("archive too short");
+        }
+        int iMin = (int) Math.min(j, 65557L);
+        ByteBuffer byteBufferOrder = ByteBuffer.allocate(iMin).order(ByteOrder.LITTLE_ENDIAN);
+        readFully(byteBufferOrder, this.length - iMin);
+        int i = iMin - ENDHDR;
+        while (i >= 0 && byteBufferOrder.getInt(i) != ENDSIG) {
+            i--;
+        }
+        if (i < 0) {
+            throw new ZipException("end of central directory not found");
+        }
+        this.endOffset = (this.length - iMin) + i;
+        int i9 = byteBufferOrder.getShort(i + 20) & 65535;
+        if (i + ENDHDR + i9 <= iMin) {
+            this.comment = new String(byteBufferOrder.array(), i + ENDHDR, i9, UTF8);
+        }
+        int i2 = byteBufferOrder.getShort(i + 10) & 65535;
+        long j2 = byteBufferOrder.getInt(i + 12) & 4294967295L;
+        long j3 = byteBufferOrder.getInt(i + 16) & 4294967295L;
+        if (i2 == 65535 || j2 == 4294967295L || j3 == 4294967295L) {
+            throw new ZipException("zip64 archives are not supported");
+        }
+        if (j3 + j2 > this.length || j2 > 2147483647L) {
+            throw new ZipException("central directory out of range");
+        }
+        ByteBuffer byteBufferOrder2 = ByteBuffer.allocate((int) j2).order(ByteOrder.LITTLE_ENDIAN);
+        readFully(byteBufferOrder2, j3);
+        this.entries.ensureCapacity(i2);
+        int i3 = 0;
+        for (int i4 = 0; i4 < i2; i4++) {
+            if (i3 + 46 > j2 || byteBufferOrder2.getInt(i3) != CENSIG) {
+                throw new ZipException("bad central directory entry " + i4);
+            }
+            int i5 = byteBufferOrder2.getShort(i3 + 10) & 65535;
+            long j4 = byteBufferOrder2.getInt(i3 + 16) & 4294967295L;
+            long j5 = byteBufferOrder2.getInt(i3 + 20) & 4294967295L;
+            long j6 = byteBufferOrder2.getInt(i3 + 24) & 4294967295L;
+            int i6 = byteBufferOrder2.getShort(i3 + 28) & 65535;
+            int i7 = byteBufferOrder2.getShort(i3 + 30) & 65535;
+            int i8 = byteBufferOrder2.getShort(i3 + 32) & 65535;
+            long j7 = byteBufferOrder2.getInt(i3 + 42) & 4294967295L;
+            if (i3 + 46 + i6 > j2) {
+                throw new ZipException("bad central directory entry " + i4);
+            }
+            String str = new String(byteBufferOrder2.array(), i3 + 46, i6, UTF8);
+            this.entries.add(new Entry(i4, str, i5, j4, j5, j6, j7));
+            i3 += i6 + 46 + i7 + i8;
+        }
+    }
+
+    private boolean isEndRecord(long j) throws IOException {
+        if (j < 0 || ENDHDR + j > this.length) {
+            return false;
+        }
+        ByteBuffer byteBufferOrder = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+        readFully(byteBufferOrder, j);
+        return byteBufferOrder.getInt(0) == ENDSIG;
+    }
+
+    private void readFully(ByteBuffer byteBuffer, long j) throws IOException {
+        while (byteBuffer.hasRemaining()) {
+            int i = this.channel.read(byteBuffer, this.base + j + byteBuffer.position());
+            if (i < 0) {
+                throw new EOFException();
+            }
+        }
+    }
+
+    static class CheckedEntryInputStream extends FilterInputStream {
+        private long count;
+        private final CRC32 crc = new CRC32();
+        private final Entry entry;
+
+        CheckedEntryInputStream(InputStream inputStream, Entry entry) {
+            super(inputStream);
+            this.entry = entry;
+        }
+
+        @Override // java.io.FilterInputStream, java.io.InputStream
+        public int read() throws IOException {
+            byte[] bArr = new byte[1];
+            if (read(bArr, 0, 1) <= 0) {
+                return -1;
+            }
+            return bArr[0] & 255;
+        }
+
+        @Override // java.io.FilterInputStream, java.io.InputStream
+        public int read(byte[] bArr, int i, int i2) throws IOException {
+            int i3 = this.in.read(bArr, i, i2);
+            if (i3 < 0) {
+                check();
+                return i3;
+            }
+            this.crc.update(bArr, i, i3);
+            this.count += i3;
+            if (this.count >= this.entry.size) {
+                check();
+            }
+            return i3;
+        }
+
+        @Override // java.io.FilterInputStream, java.io.InputStream
+        public long skip(long j) throws IOException {
+            byte[] bArr = new byte[(int) Math.min(j, 4096L)];
+            long j2 = 0;
+            while (j2 < j) {
+                int i = read(bArr, 0, (int) Math.min(bArr.length, j - j2));
+                if (i <= 0) {
+                    break;
+                }
+                j2 += i;
+            }
+            return j2;
+        }
+
+        @Override // java.io.FilterInputStream, java.io.InputStream
+        public boolean markSupported() {
+            return false;
+        }
+
+        private void check() throws ZipException {
+            if (this.count != this.entry.size) {
+                throw new ZipException("invalid entry size (expected " + this.entry.size + " but got " + this.count + " bytes): " + this.entry.name);
+            }
+            if (this.crc.getValue() != this.entry.crc) {
+                throw new ZipException("invalid entry CRC (expected 0x" + Long.toHexString(this.entry.crc) + " but got 0x" + Long.toHexString(this.crc.getValue()) + "): " + this.entry.name);
+            }
+        }
+    }
+
+    static class InflatingInputStream extends InputStream {
+        private byte[] buffer = BufferPool.acquire(BufferPool.SMALL);
+        private Inflater inflater = InflaterPool.acquire();
+        private final InputStream in;
+
+        InflatingInputStream(InputStream inputStream) {
+            this.in = inputStream;
+        }
+
+        @Override // java.io.InputStream
+        public int read() throws IOException {
+            byte[] bArr = new byte[1];
+            if (read(bArr, 0, 1) <= 0) {
+                return -1;
+            }
+            return bArr[0] & 255;
+        }
+
+        @Override // java.io.InputStream
+        public int read(byte[] bArr, int i, int i2) throws IOException {
+            Inflater inflater = this.inflater;
+            if (inflater == null) {
+                throw new IOException("stream closed");
+            }
+            if (i2 == 0) {
+                return 0;
+            }
+            while (true) {
+                try {
+                    int iInflate = inflater.inflate(bArr, i, i2);
+                    if (iInflate > 0) {
+                        return iInflate;
+                    }
+                    if (inflater.finished() || inflater.needsDictionary()) {
+                        return -1;
+                    }
+                    if (inflater.needsInput()) {
+                        int i3 = this.in.read(this.buffer, 0, this.buffer.length);
+                        if (i3 <= 0) {
+                            throw new EOFException("unexpected end of deflate stream");
+                        }
+                        inflater.setInput(this.buffer, 0, i3);
+                    }
+                } catch (DataFormatException e) {
+                    throw new ZipException(e.getMessage());
+                }
+            }
+        }
+
+        @Override // java.io.InputStream, java.io.Closeable, java.lang.AutoCloseable
+        public void close() throws IOException {
+            if (this.inflater != null) {
+                InflaterPool.release(this.inflater);
+                BufferPool.release(this.buffer);
+                this.inflater = null;
+                this.buffer = null;
+            }
+            this.in.close();
+        }
+    }
+
+    static class RangeInputStream extends InputStream {
+        private final FileChannel channel;
+        private final long end;
+        private long position;
+
+        RangeInputStream(FileChannel fileChannel, long j, long j2) {
+            this.channel = fileChannel;
+            this.position = j;
+            this.end = j + j2;
+        }
+
+        @Override // java.io.InputStream
+        public int read() throws IOException {
+            byte[] bArr = new byte[1];
+            if (read(bArr, 0, 1) <= 0) {
+                return -1;
+            }
+            return bArr[0] & 255;
+        }
+
+        @Override // java.io.InputStream
+        public int read(byte[] bArr, int i, int i2) throws IOException {
+            long j = this.end - this.position;
+            if (j <= 0) {
+                return -1;
+            }
+            int i3 = this.channel.read(ByteBuffer.wrap(bArr, i, (int) Math.min(i2, j)), this.position);
+            if (i3 < 0) {
+                return -1;
+            }
+            this.position += i3;
+            return i3;
+        }
+
+        @Override // java.io.InputStream
+        public long skip(long j) {
+            long jMax = Math.max(0L, Math.min(j, this.end - this.position));
+            this.position += jMax;
+            return jMax;
+        }
+
+        @Override // java.io.InputStream
+        public int available() {
+            return (int) Math.min(this.end - this.position, 2147483647L);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.stoneage.light;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/* loaded from: classes.dex */
+public interface ZipCodec {
+    long encode(InputStream inputStream, OutputStream outputStream) throws IOException;
+
+    InputStream open(InputStream inputStream, ZipArchive.Entry entry) throws IOException;
+}
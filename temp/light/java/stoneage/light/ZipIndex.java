@@ -0,0 +1,202 @@
+package com.stoneage.light;
+
+import android.content.Context;
+import android.util.Log;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/* loaded from: classes.dex */
+public class ZipIndex {
+    private static final String DIR_NAME = "zipindex";
+    private static final int MAGIC = 1514751064;
+    private static final String TAG = "ZipIndex";
+    private static final int VERSION = 1;
+    private static final ConcurrentHashMap<String, ZipIndex> loaded = new ConcurrentHashMap<>();
+    final String comment;
+    final long endOffset;
+    final List<ZipArchive.Entry> entries;
+    private final int[] hashes;
+    final String key;
+    final long length;
+    private final int[] order;
+
+    ZipIndex(String str, long j, long j2, String str2, List<ZipArchive.Entry> list) {
+        this.key = str;
+        this.length = j;
+        this.endOffset = j2;
+        this.comment = str2;
+        this.entries = Collections.unmodifiableList(list);
+        long[] jArr = new long[list.size()];
+        for (int i = 0; i < jArr.length; i++) {
+            jArr[i] = (((long) list.get(i).name.hashCode()) << 32) | i;
+        }
+        Arrays.sort(jArr);
+        this.hashes = new int[jArr.length];
+        this.order = new int[jArr.length];
+        for (int i2 = 0; i2 < jArr.length; i2++) {
+            this.hashes[i2] = (int) (jArr[i2] >> 32);
+            this.order[i2] = (int) jArr[i2];
+        }
+    }
+
+    public List<ZipArchive.Entry> getEntries() {
+        return this.entries;
+    }
+
+    public ZipArchive.Entry find(String str) {
+        int iHashCode = str.hashCode();
+        int iBinarySearch = Arrays.binarySearch(this.hashes, iHashCode);
+        if (iBinarySearch < 0) {
+            return null;
+        }
+        while (iBinarySearch > 0 && this.hashes[iBinarySearch - 1] == iHashCode) {
+            iBinarySearch--;
+        }
+        while (iBinarySearch < this.hashes.length && this.hashes[iBinarySearch] == iHashCode) {
+            ZipArchive.Entry entry = this.entries.get(this.order[iBinarySearch]);
+            if (entry.name.equals(str)) {
+                return entry;
+            }
+            iBinarySearch++;
+        }
+        return null;
+    }
+
+    public static ZipIndex get(String str, String str2) {
+        ZipIndex zipIndex = loaded.get(str);
+        if (zipIndex != null && zipIndex.key.equals(str2)) {
+            return zipIndex;
+        }
+        File file = indexFile(str);
+        if (file == null) {
+            return null;
+        }
+        ZipIndex zipIndexRead = read(file, str2);
+        if (zipIndexRead != null) {
+            loaded.put(str, zipIndexRead);
+        }
+        return zipIndexRead;
+    }
+
+    public static void remember(String str, String str2, ZipArchive zipArchive) {
+        ZipIndex index = zipArchive.getIndex();
+        if (loaded.get(str) == index) {
+            return;
+        }
+        ZipIndex zipIndex = new ZipIndex(str2, index.length, index.endOffset, index.comment, index.entries);
+        loaded.put(str, zipIndex);
+        File file = indexFile(str);
+        if (file != null) {
+            write(file, zipIndex);
+        }
+    }
+
+    public static void invalidate(String str) {
+        loaded.remove(str);
+        File file = indexFile(str);
+        if (file != null) {
+            file.delete();
+        }
+    }
+
+    private static File indexFile(String str) {
+        File cacheDir;
+        Context appContext = StoneageApplication.getAppContext();
+        if (appContext == null || (cacheDir = appContext.getCacheDir()) == null) {
+            return null;
+        }
+        return new File(new File(cacheDir, DIR_NAME), Integer.toHexString(str.hashCode()) + ".idx");
+    }
+
+    private static ZipIndex read(File file, String str) {
+        try {
+            DataInputStream dataInputStream = new DataInputStream(new BufferedInputStream(new FileInputStream(file), BufferPool.SMALL));
+            try {
+                if (dataInputStream.readInt() != MAGIC || dataInputStream.readInt() != VERSION || !dataInputStream.readUTF().equals(str)) {
+                    return null;
+                }
+                long j = dataInputStream.readLong();
+                long j2 = dataInputStream.readLong();
+                String utf = dataInputStream.readUTF();
+                int i = dataInputStream.readInt();
+                ArrayList<ZipArchive.Entry> arrayList = new ArrayList<>(i);
+                for (int i2 = 0; i2 < i; i2++) {
+                    int i3 = dataInputStream.readInt();
+                    int unsignedShort = dataInputStream.readUnsignedShort();
+                    long j3 = dataInputStream.readInt() & 4294967295L;
+                    long j4 = dataInputStream.readInt() & 4294967295L;
+                    long j5 = dataInputStream.readInt() & 4294967295L;
+                    long j6 = dataInputStream.readInt() & 4294967295L;
+                    String utf2 = dataInputStream.readUTF();
+                    if (utf2.hashCode() != i3) {
+                        throw new IOException("corrupt entry " + i2);
+                    }
+                    arrayList.add(new ZipArchive.Entry(i2, utf2, unsignedShort, j3, j4, j5, j6));
+                }
+                return new ZipIndex(str, j, j2, utf, arrayList);
+            } finally {
+                dataInputStream.close();
+            }
+        } catch (FileNotFoundException unused) {
+            return null;
+        } catch (IOException e) {
+            Log.w(TAG, "read " + file.getName(), e);
+            file.delete();
+            return null;
+        }
+    }
+
+    private static void write(File file, ZipIndex zipIndex) {
+        File parentFile = file.getParentFile();
+        if (!parentFile.isDirectory()) {
+            parentFile.mkdirs();
+        }
+        File file2 = new File(file.getPath() + "." + Thread.currentThread().getId() + ".tmp");
+        try {
+            FileOutputStream fileOutputStream = new FileOutputStream(file2);
+            try {
+                DataOutputStream dataOutputStream = new DataOutputStream(new BufferedOutputStream(fileOutputStream, BufferPool.SMALL));
+                dataOutputStream.writeInt(MAGIC);
+                dataOutputStream.writeInt(VERSION);
+                dataOutputStream.writeUTF(zipIndex.key);
+                dataOutputStream.writeLong(zipIndex.length);
+                dataOutputStream.writeLong(zipIndex.endOffset);
+                dataOutputStream.writeUTF(zipIndex.comment);
+                dataOutputStream.writeInt(zipIndex.entries.size());
+                for (ZipArchive.Entry entry : zipIndex.entries) {
+                    dataOutputStream.writeInt(entry.name.hashCode());
+                    dataOutputStream.writeShort(entry.method);
+                    dataOutputStream.writeInt((int) entry.crc);
+                    dataOutputStream.writeInt((int) entry.compressedSize);
+                    dataOutputStream.writeInt((int) entry.size);
+                    dataOutputStream.writeInt((int) entry.localHeaderOffset);
+                    dataOutputStream.writeUTF(entry.name);
+                }
+                dataOutputStream.flush();
+                fileOutputStream.close();
+                if (!file2.renameTo(file)) {
+                    throw new IOException("rename failed: " + file.getPath());
+                }
+                Log.i(TAG, "indexed " + zipIndex.entries.size() + " entries (" + (file.length() >> 10) + " KB)");
+            } catch (IOException e) {
+                fileOutputStream.close();
+                throw e;
+            }
+        } catch (IOException e2) {
+            Log.w(TAG, "write " + file.getName(), e2);
+            file2.delete();
+        }
+    }
+}
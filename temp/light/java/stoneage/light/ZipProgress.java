@@ -0,0 +1,149 @@
+package com.stoneage.light;
+
+import android.os.SystemClock;
+import android.util.Log;
+import java.util.concurrent.atomic.AtomicLong;
+
+/* loaded from: classes.dex */
+public class ZipProgress {
+    public static final int DEFAULT_REPORTS_PER_SECOND = 10;
+    private static final String TAG = "ZipProgress";
+    private static final ThreadLocal<ZipProgress> current = new ThreadLocal<>();
+    private static volatile ZipProgress last;
+    private static int reportsPerSecond = DEFAULT_REPORTS_PER_SECOND;
+    private final AtomicLong done = new AtomicLong();
+    private final boolean foreground;
+    private final AtomicLong nextReport = new AtomicLong();
+    private int depth = 1;
+    private final long interval;
+    private final ZipProgress parent;
+    private long reported = -1;
+    private final long startTime;
+    private volatile long total;
+
+    private ZipProgress(long j, ZipProgress zipProgress, boolean z) {
+        this.total = Math.max(0L, j);
+        this.parent = zipProgress;
+        this.foreground = z;
+        this.interval = 1000 / Math.max(1, reportsPerSecond);
+        this.startTime = SystemClock.elapsedRealtime();
+    }
+
+    public static ZipProgress begin(long j) {
+        return begin(j, true);
+    }
+
+    public static ZipProgress beginBackground(long j) {
+        return begin(j, false);
+    }
+
+    private static ZipProgress begin(long j, boolean z) {
+        ZipProgress zipProgress = current.get();
+        if (zipProgress != null && j <= 0) {
+            zipProgress.depth++;
+            return zipProgress;
+        }
+        ZipProgress zipProgress2 = new ZipProgress(j, zipProgress, z && (zipProgress == null || zipProgress.foreground));
+        current.set(zipProgress2);
+        if (zipProgress2.foreground) {
+            last = zipProgress2;
+            zipProgress2.report(true);
+        }
+        return zipProgress2;
+    }
+
+    public static ZipProgress current() {
+        return current.get();
+    }
+
+    public static void setReportsPerSecond(int i) {
+        reportsPerSecond = Math.max(1, i);
+    }
+
+    public static long getDoneBytes() {
+        ZipProgress zipProgress = last;
+        if (zipProgress == null) {
+            return 0L;
+        }
+        return zipProgress.done.get();
+    }
+
+    public static long getTotalBytes() {
+        ZipProgress zipProgress = last;
+        if (zipProgress == null) {
+            return 0L;
+        }
+        return zipProgress.getTotal();
+    }
+
+    public static long getEtaSeconds() {
+        ZipProgress zipProgress = last;
+        if (zipProgress == null) {
+            return -1L;
+        }
+        return zipProgress.eta();
+    }
+
+    public void advance(long j) {
+        if (j <= 0) {
+            return;
+        }
+        this.done.addAndGet(j);
+        if (!this.foreground) {
+            return;
+        }
+        long j2 = this.nextReport.get();
+        long jElapsedRealtime = SystemClock.elapsedRealtime();
+        if (jElapsedRealtime < j2 || !this.nextReport.compareAndSet(j2, this.interval + jElapsedRealtime)) {
+            return;
+        }
+        report(false);
+    }
+
+    public void addTotal(long j) {
+        synchronized (this) {
+            this.total += j;
+        }
+    }
+
+    public void end() {
+        int i = this.depth - 1;
+        this.depth = i;
+        if (i > 0) {
+            return;
+        }
+        if (current.get() == this) {
+            if (this.parent != null) {
+                current.set(this.parent);
+            } else {
+                current.remove();
+            }
+        }
+        if (this.foreground) {
+            report(true);
+        }
+        Log.i(TAG, "extracted " + this.done.get() + " bytes in " + (SystemClock.elapsedRealtime() - this.startTime) + " ms");
+    }
+
+    public long getTotal() {
+        return Math.max(this.total, this.done.get());
+    }
+
+    public long eta() {
+        long j = this.done.get();
+        long elapsedRealtime = SystemClock.elapsedRealtime() - this.startTime;
+        if (j <= 0 || elapsedRealtime <= 0) {
+            return -1L;
+        }
+        return (((getTotal() - j) * elapsedRealtime) / j) / 1000;
+    }
+
+    private synchronized void report(boolean z) {
+        long j = this.done.get();
+        if (j <= this.reported && !z) {
+            return;
+        }
+        this.reported = j;
+        JNILibrary.callbackZipProgress(j, getTotal());
+    }
+}